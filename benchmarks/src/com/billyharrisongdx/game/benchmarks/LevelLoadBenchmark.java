@@ -0,0 +1,77 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/27/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.benchmarks;
+
+import java.util.concurrent.TimeUnit ;
+
+import org.openjdk.jmh.annotations.Benchmark ;
+import org.openjdk.jmh.annotations.BenchmarkMode ;
+import org.openjdk.jmh.annotations.Fork ;
+import org.openjdk.jmh.annotations.Measurement ;
+import org.openjdk.jmh.annotations.Mode ;
+import org.openjdk.jmh.annotations.OutputTimeUnit ;
+import org.openjdk.jmh.annotations.Param ;
+import org.openjdk.jmh.annotations.Scope ;
+import org.openjdk.jmh.annotations.Setup ;
+import org.openjdk.jmh.annotations.State ;
+import org.openjdk.jmh.annotations.TearDown ;
+import org.openjdk.jmh.annotations.Warmup ;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.files.FileHandle ;
+import com.billyharrisongdx.game.game.Level ;
+import com.billyharrisongdx.game.game.LevelData ;
+import com.billyharrisongdx.game.headless.HeadlessSupport ;
+
+/**
+ * Time to read a compiled level from disk and to create its
+ * game objects
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoadBenchmark
+{
+	// Number of level 01 copies placed side by side
+	@Param({ "1", "4", "16" })
+	public int copies ;
+
+	private LevelData data ;
+	private FileHandle compiledFile ;
+
+	@Setup
+	public void setup()
+	{
+		HeadlessSupport.init() ;
+		data = SyntheticLevels.level01(copies) ;
+		compiledFile = Gdx.files.local("benchmark-" + copies + LevelData.COMPILED_EXTENSION) ;
+		data.write(compiledFile, 0) ;
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		compiledFile.delete() ;
+	}
+
+	@Benchmark
+	public LevelData readCompiledLevel()
+	{
+		return LevelData.read(compiledFile, 0) ;
+	}
+
+	@Benchmark
+	public Level buildLevel()
+	{
+		return new Level(data) ;
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/27/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.benchmarks;
+
+import com.billyharrisongdx.game.game.Level.BLOCK_TYPE ;
+import com.billyharrisongdx.game.game.LevelData ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Builds bigger levels for the benchmarks by placing copies of a
+ * real level next to each other, so the object density stays the
+ * same as in the game
+ */
+public class SyntheticLevels
+{
+	/**
+	 * Returns level 01 repeated the given number of times
+	 */
+	public static LevelData level01(int copies)
+	{
+		return repeat(LevelData.load(Constants.LEVEL_01), copies) ;
+	}
+
+	/**
+	 * Places copies of a level side by side. Only the first copy
+	 * keeps its spawn point and only the last one its goal
+	 */
+	public static LevelData repeat(LevelData source, int copies)
+	{
+		LevelData data = new LevelData(source.width * copies, source.height, source.size * copies) ;
+		BLOCK_TYPE[] blockTypes = BLOCK_TYPE.values() ;
+		for(int copy = 0; copy < copies; copy++)
+		{
+			int offsetX = copy * source.width ;
+			for(int i = 0; i < source.size; i++)
+			{
+				BLOCK_TYPE type = blockTypes[source.types[i]] ;
+				if(type == BLOCK_TYPE.PLAYER_SPAWNPOINT && copy > 0) continue ;
+				if(type == BLOCK_TYPE.GOAL && copy < copies - 1) continue ;
+				data.add(type, source.x[i] + offsetX, source.y[i], source.lengths[i]) ;
+			}
+		}
+		return data ;
+	}
+}
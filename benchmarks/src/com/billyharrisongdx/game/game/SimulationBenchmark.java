@@ -0,0 +1,96 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/27/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import java.util.concurrent.TimeUnit ;
+
+import org.openjdk.jmh.annotations.Benchmark ;
+import org.openjdk.jmh.annotations.BenchmarkMode ;
+import org.openjdk.jmh.annotations.Fork ;
+import org.openjdk.jmh.annotations.Measurement ;
+import org.openjdk.jmh.annotations.Mode ;
+import org.openjdk.jmh.annotations.OutputTimeUnit ;
+import org.openjdk.jmh.annotations.Param ;
+import org.openjdk.jmh.annotations.Scope ;
+import org.openjdk.jmh.annotations.Setup ;
+import org.openjdk.jmh.annotations.State ;
+import org.openjdk.jmh.annotations.TearDown ;
+import org.openjdk.jmh.annotations.Warmup ;
+
+import com.badlogic.gdx.math.MathUtils ;
+import com.billyharrisongdx.game.benchmarks.SyntheticLevels ;
+import com.billyharrisongdx.game.headless.HeadlessSupport ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Cost of one simulation step and of its parts on levels of
+ * growing size. Lives in the game package to reach
+ * WorldController.testCollisions()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark
+{
+	// Number of level 01 copies placed side by side
+	@Param({ "1", "4", "16" })
+	public int copies ;
+
+	private WorldController worldController ;
+
+	// The bunny runs forward on its own, start over before the goal
+	private float restartX ;
+
+	@Setup
+	public void setup()
+	{
+		HeadlessSupport.init() ;
+		MathUtils.random.setSeed(1) ;
+		worldController = new WorldController(null, new Level(SyntheticLevels.level01(copies))) ;
+		worldController.startSession() ;
+		restartX = worldController.level.goal.position.x - 5 ;
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		worldController.dispose() ;
+	}
+
+	@Benchmark
+	public void testCollisions()
+	{
+		worldController.testCollisions() ;
+	}
+
+	@Benchmark
+	public void levelUpdate()
+	{
+		worldController.level.update(Constants.FIXED_TIMESTEP) ;
+	}
+
+	/**
+	 * One full step: input, level, collisions, physics and camera.
+	 * Starts a new session before a life is lost or the goal is
+	 * reached, since both would leave the game screen
+	 */
+	@Benchmark
+	public void tick()
+	{
+		if(worldController.lives < Constants.LIVES_START
+			|| worldController.level.bunnyHead.position.x > restartX)
+		{
+			worldController.startSession() ;
+		}
+		worldController.update(Constants.FIXED_TIMESTEP) ;
+	}
+}
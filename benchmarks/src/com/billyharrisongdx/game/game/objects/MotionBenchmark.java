@@ -0,0 +1,82 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/27/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game.objects;
+
+import java.util.concurrent.TimeUnit ;
+
+import org.openjdk.jmh.annotations.Benchmark ;
+import org.openjdk.jmh.annotations.BenchmarkMode ;
+import org.openjdk.jmh.annotations.Fork ;
+import org.openjdk.jmh.annotations.Measurement ;
+import org.openjdk.jmh.annotations.Mode ;
+import org.openjdk.jmh.annotations.OutputTimeUnit ;
+import org.openjdk.jmh.annotations.Param ;
+import org.openjdk.jmh.annotations.Scope ;
+import org.openjdk.jmh.annotations.Setup ;
+import org.openjdk.jmh.annotations.State ;
+import org.openjdk.jmh.annotations.Warmup ;
+
+import com.badlogic.gdx.math.MathUtils ;
+import com.billyharrisongdx.game.headless.HeadlessSupport ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Cost of the per-axis motion update for many objects. Lives in
+ * the objects package to reach the protected updateMotionX/Y()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotionBenchmark
+{
+	@Param({ "100", "1000", "10000" })
+	public int count ;
+
+	private AbstractGameObject[] objects ;
+
+	@Setup
+	public void setup()
+	{
+		HeadlessSupport.init() ;
+		MathUtils.random.setSeed(1) ;
+		objects = new AbstractGameObject[count] ;
+		for(int i = 0; i < count; i++)
+		{
+			// Pushed left or right against friction and falling, so
+			// the velocities never settle at 0
+			AbstractGameObject obj = new Carrot() ;
+			obj.terminalVelocity.set(3.0f, 4.0f) ;
+			obj.friction.set(12.0f, 0.0f) ;
+			obj.acceleration.set(MathUtils.randomBoolean() ? 20.0f : -20.0f, -25.0f) ;
+			obj.velocity.set(MathUtils.random(-3.0f, 3.0f), MathUtils.random(-4.0f, 4.0f)) ;
+			objects[i] = obj ;
+		}
+	}
+
+	@Benchmark
+	public void updateMotionX()
+	{
+		for(int i = 0; i < objects.length; i++)
+		{
+			objects[i].updateMotionX(Constants.FIXED_TIMESTEP) ;
+		}
+	}
+
+	@Benchmark
+	public void updateMotionY()
+	{
+		for(int i = 0; i < objects.length; i++)
+		{
+			objects[i].updateMotionY(Constants.FIXED_TIMESTEP) ;
+		}
+	}
+}
@@ -11,28 +11,71 @@ package com.billyharrisongdx.game;
 import com.badlogic.gdx.Application ;
 import com.badlogic.gdx.Game ;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager ;
 import com.billyharrisongdx.game.game.Assets ;
-import com.billyharrisongdx.game.screens.MenuScreen ;
+import com.billyharrisongdx.game.game.InputRecording ;
+import com.billyharrisongdx.game.screens.LoadingScreen ;
+import com.billyharrisongdx.game.screens.ScreenManager ;
 import com.billyharrisongdx.game.util.AudioManager ;
 import com.billyharrisongdx.game.util.GamePreferences ;
 
 public class CanyonBunnyMain extends Game
 {
+	// Input recording to play instead of starting at the menu
+	private final String replayFilename ;
+	// Whether the input of played sessions is saved
+	private final boolean recordSessions ;
+
+	public CanyonBunnyMain()
+	{
+		this(null, false) ;
+	}
+
+	public CanyonBunnyMain(String replayFilename, boolean recordSessions)
+	{
+		this.replayFilename = replayFilename ;
+		this.recordSessions = recordSessions ;
+	}
+
 	@Override
 	public void create()
 	{
 		// Set Libgdx log level
 		Gdx.app.setLogLevel(Application.LOG_DEBUG) ;
 		
-		// Load assets
-		Assets.instance.init(new AssetManager()) ;
-		
-		// Load preferences for audio settings and start playing music
-		GamePreferences.instance.load() ;
-		AudioManager.instance.play(Assets.instance.music.song01) ;
-		
-		// Start game at menu screen
-		setScreen(new MenuScreen(this)) ;
+		// Load assets, the loading screen moves on to the menu
+		ScreenManager.instance.init(this) ;
+		ScreenManager.instance.setRecordSessions(recordSessions) ;
+		if(replayFilename != null)
+		{
+			ScreenManager.instance.setStartReplay(InputRecording.read(Gdx.files.local(replayFilename))) ;
+		}
+		setScreen(new LoadingScreen(this)) ;
+	}
+
+	@Override
+	public void render()
+	{
+		// Music switches and fades go on whatever screen is showing
+		AudioManager.instance.update(Gdx.graphics.getDeltaTime()) ;
+		super.render() ;
+	}
+
+	@Override
+	public void pause()
+	{
+		super.pause() ;
+		// The game may be closed while paused
+		GamePreferences.instance.flush() ;
+	}
+
+	@Override
+	public void dispose()
+	{
+		super.dispose() ;
+		ScreenManager.instance.dispose() ;
+		AudioManager.instance.dispose() ;
+		GamePreferences.instance.dispose() ;
+		// Last, the screens above may still have used the assets
+		Assets.instance.dispose() ;
 	}
 }
\ No newline at end of file
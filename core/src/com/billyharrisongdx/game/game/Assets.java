@@ -14,14 +14,23 @@ import com.badlogic.gdx.assets.AssetErrorListener ;
 import com.badlogic.gdx.assets.AssetManager ;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas ;
 import com.badlogic.gdx.utils.Disposable ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.billyharrisongdx.game.util.AudioManager ;
 import com.billyharrisongdx.game.util.Constants ;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion ;
 import com.badlogic.gdx.graphics.Texture ;
 import com.badlogic.gdx.graphics.Texture.TextureFilter ;
 import com.badlogic.gdx.graphics.g2d.BitmapFont ;
-import com.badlogic.gdx.audio.Music ;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData ;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter ;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader.ParticleEffectParameter ;
+import com.badlogic.gdx.assets.loaders.SkinLoader.SkinParameter ;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin ;
 import com.badlogic.gdx.audio.Sound ;
 import com.badlogic.gdx.graphics.g2d.Animation ;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect ;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool ;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter ;
 import com.badlogic.gdx.utils.Array ;
 
 public class Assets implements Disposable, AssetErrorListener
@@ -32,14 +41,20 @@ public class Assets implements Disposable, AssetErrorListener
 
 	private AssetManager assetManager ;
 
+	// Set once the game resource objects are created
+	private boolean loaded ;
+	// Reused to list the loaded textures on resume
+	private final Array<Texture> loadedTextures = new Array<Texture>() ;
+	private final Array<ParticleEffect> loadedEffects = new Array<ParticleEffect>() ;
+
 	public AssetBunny bunny ;
 	public AssetRock rock ;
 	public AssetGoldCoin goldCoin ;
 	public AssetFeather feather ;
 	public AssetLevelDecoration levelDecoration ;
+	public AssetParticles particles ;
 	public AssetFonts fonts ;
 	public AssetSounds sounds ;
-	public AssetMusic music ;
 
 	// singleton: prevent instantiation from other classes
 	private Assets() {}
@@ -50,27 +65,76 @@ public class Assets implements Disposable, AssetErrorListener
 		public final BitmapFont defaultNormal ;
 		public final BitmapFont defaultBig ;
 
-		public AssetFonts()
+		public AssetFonts(AssetManager am)
+		{
+			// Libgdx's 15px bitmap font, loaded once with linear filtering
+			defaultNormal = am.get(Constants.FONT_DEFAULT, BitmapFont.class) ;
+
+			// Smaller and bigger views share the glyph texture
+			defaultSmall = createScaledFont(defaultNormal, 0.75f) ;
+			defaultBig = createScaledFont(defaultNormal, 2.0f) ;
+		}
+
+		/**
+		 * Creates a font that draws the glyphs of another font at a
+		 * different scale. The font file is not parsed again and the
+		 * glyph texture is not copied
+		 */
+		private BitmapFont createScaledFont(BitmapFont font, float scale)
 		{
-			// Create three fonts using Libgdx's 15px bitmap font
-			defaultSmall = new BitmapFont(Gdx.files.internal("../core/assets/images/arial-15.fnt"), true) ;
-			defaultNormal = new BitmapFont(Gdx.files.internal("../core/assets/images/arial-15.fnt"), true) ;
-			defaultBig = new BitmapFont(Gdx.files.internal("../core/assets/images/arial-15.fnt"), true) ;
-
-			// Set font sizes
-			defaultSmall.getData().setScale(0.75f) ;
-			defaultNormal.getData().setScale(1.0f) ;
-			defaultBig.getData().setScale(2.0f) ;
-			// Enable linear texture filtering for smooth fonts
-			defaultSmall.getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-			defaultNormal.getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-			defaultBig.getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+			BitmapFontData source = font.getData() ;
+			BitmapFontData data = new BitmapFontData() ;
+			data.imagePaths = source.imagePaths ;
+			data.fontFile = source.fontFile ;
+			data.flipped = source.flipped ;
+			data.padTop = source.padTop ;
+			data.padRight = source.padRight ;
+			data.padBottom = source.padBottom ;
+			data.padLeft = source.padLeft ;
+			data.lineHeight = source.lineHeight ;
+			data.capHeight = source.capHeight ;
+			data.ascent = source.ascent ;
+			data.descent = source.descent ;
+			data.down = source.down ;
+			data.scaleX = source.scaleX ;
+			data.scaleY = source.scaleY ;
+			data.markupEnabled = source.markupEnabled ;
+			data.cursorX = source.cursorX ;
+			System.arraycopy(source.glyphs, 0, data.glyphs, 0, source.glyphs.length) ;
+			data.missingGlyph = source.missingGlyph ;
+			data.spaceWidth = source.spaceWidth ;
+			data.xHeight = source.xHeight ;
+			data.breakChars = source.breakChars ;
+			data.xChars = source.xChars ;
+			data.capChars = source.capChars ;
+
+			// Regions are passed in, so the new font does not own the texture
+			BitmapFont scaledFont = new BitmapFont(data, font.getRegions(), font.usesIntegerPositions()) ;
+			scaledFont.getData().setScale(scale) ;
+			return scaledFont ;
 		}
 	}
 
+	/**
+	 * Loads all assets and waits until they are finished
+	 */
 	public void init (AssetManager assetManager)
+	{
+		load(assetManager) ;
+
+		// start loading assets and wait until finished
+		assetManager.finishLoading();
+		build() ;
+	}
+
+	/**
+	 * Queues all assets without waiting for them. Call update()
+	 * every frame until it returns true
+	 */
+	public void load (AssetManager assetManager)
 	{
 		this.assetManager = assetManager ;
+		loaded = false ;
 
 		// set asset manager error handler
 		assetManager.setErrorListener(this) ;
@@ -78,6 +142,17 @@ public class Assets implements Disposable, AssetErrorListener
 		// load texture atlas
 		assetManager.load(Constants.TEXTURE_ATLAS_OBJECTS,TextureAtlas.class) ;
 
+		// load font, flipped for the y-down GUI camera
+		BitmapFontParameter fontParameter = new BitmapFontParameter() ;
+		fontParameter.flip = true ;
+		fontParameter.minFilter = TextureFilter.Linear ;
+		fontParameter.magFilter = TextureFilter.Linear ;
+		assetManager.load(Constants.FONT_DEFAULT, BitmapFont.class, fontParameter) ;
+
+		// load menu skins, kept loaded for the whole session
+		assetManager.load(Constants.SKIN_CANYONBUNNY_UI, Skin.class, new SkinParameter(Constants.TEXTURE_ATLAS_UI)) ;
+		assetManager.load(Constants.SKIN_LIBGDX_UI, Skin.class, new SkinParameter(Constants.TEXTURE_ATLAS_LIBGDX_UI)) ;
+
 		// load sounds
 		assetManager.load("sounds/jump.wav", Sound.class) ;
 		assetManager.load("sounds/jump_with_feather.wav", Sound.class) ;
@@ -85,13 +160,48 @@ public class Assets implements Disposable, AssetErrorListener
 		assetManager.load("sounds/pickup_feather.wav", Sound.class) ;
 		assetManager.load("sounds/live_lost.wav", Sound.class) ;
 
-		// load music
+		// load particle effects, their images are in their own folder
+		ParticleEffectParameter particleParameter = new ParticleEffectParameter() ;
+		particleParameter.imagesDir = Gdx.files.internal(Constants.PARTICLE_IMAGES_DIR) ;
+		assetManager.load(Constants.PARTICLE_DUST, ParticleEffect.class, particleParameter) ;
 
-		assetManager.load("music/keith303_-_brand_new_highscore.mp3", Music.class) ;
+		// music is not queued, AudioManager opens it when needed
+	}
 
-		// start loading assets and wait until finished
-		assetManager.finishLoading();
+	/**
+	 * Keeps loading the queued assets for at most the given time
+	 * and creates the game resource objects once all are done
+	 * @param millis time the asset manager may block this frame
+	 * @return true when everything is loaded
+	 */
+	public boolean update (int millis)
+	{
+		if(loaded) return true ;
+		if(assetManager.update(millis))
+		{
+			build() ;
+		}
+		return loaded ;
+	}
+
+	/**
+	 * Returns the loaded fraction of the queued assets, 0 to 1
+	 */
+	public float getProgress ()
+	{
+		return loaded ? 1.0f : assetManager.getProgress() ;
+	}
 
+	public boolean isLoaded ()
+	{
+		return loaded ;
+	}
+
+	/**
+	 * Creates the game resource objects from the loaded assets
+	 */
+	private void build ()
+	{
 		Gdx.app.debug(TAG,  "# of assets loaded: " + assetManager.getAssetNames().size) ;
 
 		for (String a: assetManager.getAssetNames())
@@ -108,15 +218,91 @@ public class Assets implements Disposable, AssetErrorListener
 		}
 
 		// create game resource objects
-		fonts = new AssetFonts() ;
+		fonts = new AssetFonts(assetManager) ;
 		bunny = new AssetBunny(atlas) ;
 		rock = new AssetRock(atlas) ;
 		goldCoin = new AssetGoldCoin(atlas) ;
 		feather = new AssetFeather(atlas) ;
 		levelDecoration = new AssetLevelDecoration(atlas) ;
+		particles = new AssetParticles(assetManager) ;
 		sounds = new AssetSounds(assetManager) ;
-		music = new AssetMusic(assetManager) ;
-}
+		loaded = true ;
+	}
+
+	/**
+	 * Returns a UI skin and counts the caller as one more user of
+	 * it. Skins are read from disk while loading and never block
+	 * here, every call needs a matching releaseSkin()
+	 */
+	public Skin acquireSkin (String skinPath, String atlasPath)
+	{
+		// Skins are preloaded with everything else, never wait for one here
+		if(!assetManager.isLoaded(skinPath, Skin.class))
+		{
+			throw new GdxRuntimeException("Skin was not preloaded: " + skinPath) ;
+		}
+		assetManager.load(skinPath, Skin.class, new SkinParameter(atlasPath)) ;
+		// Loaded skins are taken off the queue at once, this only
+		// raises the reference count
+		assetManager.update() ;
+		return assetManager.get(skinPath, Skin.class) ;
+	}
+
+	/**
+	 * Drops one user of a UI skin. The skin and its atlas are
+	 * disposed when nobody uses them anymore
+	 */
+	public void releaseSkin (String skinPath)
+	{
+		assetManager.unload(skinPath) ;
+	}
+
+	/**
+	 * Brings back textures whose OpenGL objects were lost while
+	 * the game was paused. Everything else (atlas regions, sounds)
+	 * stays as loaded, so only the lost textures are
+	 * uploaded again
+	 */
+	public void onResume ()
+	{
+		// Still loading, the asset manager takes care of it
+		if(!loaded) return ;
+
+		// Atlases, fonts and skins load their images as texture
+		// assets, so this finds every texture of the game and menus
+		int restored = 0 ;
+		assetManager.getAll(Texture.class, loadedTextures) ;
+		for (Texture t : loadedTextures)
+		{
+			if(restoreTexture(t)) restored++ ;
+		}
+		loadedTextures.clear() ;
+		// Particle effects load their images themselves
+		assetManager.getAll(ParticleEffect.class, loadedEffects) ;
+		for (ParticleEffect effect : loadedEffects)
+		{
+			for (ParticleEmitter emitter : effect.getEmitters())
+			{
+				if(restoreTexture(emitter.getSprite().getTexture())) restored++ ;
+			}
+		}
+		loadedEffects.clear() ;
+		Gdx.app.debug(TAG, "# of textures restored on resume: " + restored) ;
+	}
+
+	/**
+	 * Uploads a texture again if its OpenGL object no longer exists
+	 * @return true if the texture had to be restored
+	 */
+	private boolean restoreTexture (Texture texture)
+	{
+		if(Gdx.gl.glIsTexture(texture.getTextureObjectHandle()))
+		{
+			return false ;
+		}
+		texture.load(texture.getTextureData()) ;
+		return true ;
+	}
 
 	/**
 	 * Releases all assets when they are no longer needed
@@ -124,10 +310,11 @@ public class Assets implements Disposable, AssetErrorListener
 	@Override
 	public void dispose()
 	{
+		if(assetManager == null) return ;
+		// Also disposes the font texture shared by all fonts
 		assetManager.dispose() ;
-		fonts.defaultSmall.dispose() ;
-		fonts.defaultNormal.dispose() ;
-		fonts.defaultBig.dispose() ;
+		assetManager = null ;
+		loaded = false ;
 	}
 
 	/**
@@ -245,6 +432,18 @@ public class Assets implements Disposable, AssetErrorListener
 		}
 	}
 
+	public class AssetParticles
+	{
+		public final ParticleEffectPool dust ;
+
+		public AssetParticles(AssetManager am)
+		{
+			// The effect file is parsed once, objects get copies of it
+			dust = new ParticleEffectPool(am.get(Constants.PARTICLE_DUST, ParticleEffect.class), 1,
+				Constants.PARTICLE_POOL_MAX) ;
+		}
+	}
+
 	public class AssetSounds
 	{
 		public final Sound jump ;
@@ -260,16 +459,15 @@ public class Assets implements Disposable, AssetErrorListener
 			pickupCoin = am.get("sounds/pickup_coin.wav", Sound.class) ;
 			pickupFeather = am.get("sounds/pickup_feather.wav", Sound.class) ;
 			lifeLost = am.get("sounds/live_lost.wav", Sound.class) ;
-		}
-	}
 
-	public class AssetMusic
-	{
-		public final Music song01 ;
-
-		public AssetMusic(AssetManager am)
-		{
-			song01 = am.get("music/keith303_-_brand_new_highscore.mp3", Music.class) ;
+			// Voices, priority and length in seconds of each sound. Coins
+			// come in bursts and matter least, losing a life the most
+			AudioManager audio = AudioManager.instance ;
+			audio.setVoiceLimits(pickupCoin, 3, 0, 0.18f) ;
+			audio.setVoiceLimits(jump, 2, 1, 0.2f) ;
+			audio.setVoiceLimits(jumpWithFeather, 2, 1, 0.18f) ;
+			audio.setVoiceLimits(pickupFeather, 2, 2, 0.8f) ;
+			audio.setVoiceLimits(lifeLost, 1, 3, 1.8f) ;
 		}
 	}
 }
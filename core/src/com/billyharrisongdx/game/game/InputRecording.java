@@ -0,0 +1,177 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/29/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import java.io.BufferedInputStream ;
+import java.io.BufferedOutputStream ;
+import java.io.DataInputStream ;
+import java.io.DataOutputStream ;
+import java.io.IOException ;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.files.FileHandle ;
+import com.badlogic.gdx.utils.ByteArray ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.badlogic.gdx.utils.IntArray ;
+import com.badlogic.gdx.utils.StreamUtils ;
+
+/**
+ * The buttons held in every simulation step of one session,
+ * together with the level and the random seed it was started
+ * with. Stored as runs of equal steps, since the buttons rarely
+ * change from one step to the next
+ */
+public class InputRecording
+{
+	public static final String TAG = InputRecording.class.getName() ;
+
+	// "CBRP" and format version written at the start of every file
+	private static final int MAGIC = 0x43425250 ;
+	private static final int VERSION = 1 ;
+
+	public final String levelFilename ;
+	public final long seed ;
+
+	// Buttons of each run and how many steps they were held
+	private final ByteArray runButtons = new ByteArray() ;
+	private final IntArray runLengths = new IntArray() ;
+	private int stepCount ;
+
+	public InputRecording(String levelFilename, long seed)
+	{
+		this.levelFilename = levelFilename ;
+		this.seed = seed ;
+	}
+
+	/**
+	 * Adds the buttons of the next step
+	 */
+	public void add(int buttons)
+	{
+		int last = runButtons.size - 1 ;
+		if(last >= 0 && runButtons.get(last) == buttons)
+		{
+			runLengths.incr(last, 1) ;
+		}
+		else
+		{
+			runButtons.add((byte) buttons) ;
+			runLengths.add(1) ;
+		}
+		stepCount++ ;
+	}
+
+	public int getStepCount()
+	{
+		return stepCount ;
+	}
+
+	public int getRunCount()
+	{
+		return runButtons.size ;
+	}
+
+	public int getRunButtons(int run)
+	{
+		return runButtons.get(run) ;
+	}
+
+	public int getRunLength(int run)
+	{
+		return runLengths.get(run) ;
+	}
+
+	/**
+	 * Reads a recording, returns null if the file can't be read
+	 */
+	public static InputRecording read(FileHandle file)
+	{
+		DataInputStream in = null ;
+		try
+		{
+			in = new DataInputStream(new BufferedInputStream(file.read())) ;
+			if(in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				Gdx.app.error(TAG, "Not an input recording: " + file.path()) ;
+				return null ;
+			}
+			InputRecording recording = new InputRecording(in.readUTF(), in.readLong()) ;
+			int runCount = in.readInt() ;
+			for(int i = 0; i < runCount; i++)
+			{
+				int buttons = in.readByte() ;
+				int length = readVarInt(in) ;
+				recording.runButtons.add((byte) buttons) ;
+				recording.runLengths.add(length) ;
+				recording.stepCount += length ;
+			}
+			return recording ;
+		}
+		catch(IOException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't read input recording '" + file.path() + "': " + ex.getMessage()) ;
+			return null ;
+		}
+		finally
+		{
+			StreamUtils.closeQuietly(in) ;
+		}
+	}
+
+	public void write(FileHandle file)
+	{
+		DataOutputStream out = null ;
+		try
+		{
+			out = new DataOutputStream(new BufferedOutputStream(file.write(false))) ;
+			out.writeInt(MAGIC) ;
+			out.writeInt(VERSION) ;
+			out.writeUTF(levelFilename) ;
+			out.writeLong(seed) ;
+			out.writeInt(runButtons.size) ;
+			for(int i = 0; i < runButtons.size; i++)
+			{
+				out.writeByte(runButtons.get(i)) ;
+				writeVarInt(out, runLengths.get(i)) ;
+			}
+		}
+		catch(IOException ex)
+		{
+			throw new GdxRuntimeException("Error writing input recording: " + file.path(), ex) ;
+		}
+		finally
+		{
+			StreamUtils.closeQuietly(out) ;
+		}
+	}
+
+	/**
+	 * Writes 7 bits per byte, most runs fit in one or two bytes
+	 */
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException
+	{
+		while((value & ~0x7f) != 0)
+		{
+			out.writeByte((value & 0x7f) | 0x80) ;
+			value >>>= 7 ;
+		}
+		out.writeByte(value) ;
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException
+	{
+		int value = 0 ;
+		for(int shift = 0; ; shift += 7)
+		{
+			int b = in.readUnsignedByte() ;
+			value |= (b & 0x7f) << shift ;
+			if((b & 0x80) == 0) return value ;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/28/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+/**
+ * Where the player's controls come from. Asked once per
+ * simulation step, so the same answers always play the same game
+ */
+public interface InputSource
+{
+	/**
+	 * Buttons that can be held, combined as bits
+	 */
+	int LEFT = 1 ;
+	int RIGHT = 2 ;
+	int JUMP = 4 ;
+
+	/**
+	 * Returns the buttons held down for the next simulation step
+	 */
+	int poll() ;
+}
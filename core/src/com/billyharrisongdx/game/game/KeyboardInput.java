@@ -0,0 +1,49 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/28/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.Input.Keys ;
+import com.badlogic.gdx.Application.ApplicationType ;
+
+/**
+ * Controls read from the keyboard, or the touch screen on
+ * phones where the bunny runs forward on its own
+ */
+public class KeyboardInput implements InputSource
+{
+	@Override
+	public int poll()
+	{
+		int buttons = 0 ;
+		// Player movement
+		if(Gdx.input.isKeyPressed(Keys.LEFT))
+		{
+			buttons |= LEFT ;
+		}
+		else if(Gdx.input.isKeyPressed(Keys.RIGHT))
+		{
+			buttons |= RIGHT ;
+		}
+		else
+		{
+			// Execute auto-forward movement on non-desktop platform
+			if(Gdx.app.getType() != ApplicationType.Desktop)
+			{
+				buttons |= RIGHT ;
+			}
+		}
+		// Bunny Jump
+		if(Gdx.input.isTouched() || Gdx.input.isKeyPressed(Keys.SPACE))
+		{
+			buttons |= JUMP ;
+		}
+		return buttons ;
+	}
+}
@@ -9,16 +9,18 @@
 package com.billyharrisongdx.game.game;
 
 import com.badlogic.gdx.Gdx ;
-import com.badlogic.gdx.graphics.Pixmap ;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
+import com.badlogic.gdx.math.Matrix4 ;
+import com.badlogic.gdx.math.Rectangle ;
 import com.badlogic.gdx.utils.Array ;
+import com.badlogic.gdx.utils.IntArray ;
+import com.billyharrisongdx.game.util.Constants ;
 import com.billyharrisongdx.game.game.objects.AbstractGameObject ;
 import com.billyharrisongdx.game.game.objects.Rock ;
 import com.billyharrisongdx.game.game.objects.Mountains ;
 import com.billyharrisongdx.game.game.objects.WaterOverlay ;
 import com.billyharrisongdx.game.game.objects.Clouds ;
-import com.billyharrisongdx.game.game.objects.GoldCoin ;
-import com.billyharrisongdx.game.game.objects.Feather ;
+import com.billyharrisongdx.game.game.objects.CollectibleStore ;
 import com.billyharrisongdx.game.game.objects.BunnyHead ;
 import com.billyharrisongdx.game.game.objects.Carrot ;
 import com.billyharrisongdx.game.game.objects.Goal ;
@@ -77,169 +79,317 @@ public class Level
 		// Objects
 		public Array<Rock> rocks ;
 		public BunnyHead bunnyHead ;
-		public Array<GoldCoin> goldcoins ;
-		public Array<Feather> feathers ;
+		public CollectibleStore goldcoins ;
+		public CollectibleStore feathers ;
 
 		// Decoration
 		public Clouds clouds ;
 		public Mountains mountains ;
 		public WaterOverlay waterOverlay ;
 
+		// Spatial indices used for collision tests
+		public SpatialGrid rockGrid ;
+		public SpatialGrid goldcoinGrid ;
+		public SpatialGrid featherGrid ;
+
+		// Culling: last drawn view, reused query result and counters
+		private final Rectangle viewBounds = new Rectangle() ;
+		private final IntArray visible = new IntArray() ;
+		public int objectsSubmitted ;
+		public int objectsCulled ;
+
+		// State of the freshly loaded level used for respawning
+		private LevelSnapshot snapshot ;
+
+		// Level image the level was loaded from
+		public String filename ;
+
 		/**
 		 * Initiates a level using the input filename
 		 * @param filename
 		 */
 		public Level(String filename)
 		{
-			init(filename) ;
+			init(filename, LevelData.load(filename)) ;
+		}
+
+		/**
+		 * Initiates a level from objects that are already loaded,
+		 * e.g. generated by the benchmarks
+		 */
+		public Level(LevelData data)
+		{
+			init("<generated>", data) ;
 		}
 
 		/**
-		 * Draws level map based on input file. Uses colors
-		 * to position items on the map and draws background
-		 * images
+		 * Creates the game objects listed in the level data
+		 * and positions them on the map, then creates the
+		 * background images
 		 */
-		private void init(String filename)
+		private void init(String filename, LevelData data)
 		{
+			this.filename = filename ;
 			// Player character
 			bunnyHead = null ;
 			// Objects
 			rocks = new Array<Rock>() ;
-			goldcoins = new Array<GoldCoin>() ;
-			feathers = new Array<Feather>() ;
+			goldcoins = CollectibleStore.createGoldCoins() ;
+			feathers = CollectibleStore.createFeathers() ;
 			carrots = new Array<Carrot>() ;
 
-			// Load image file that represents the level data
-			Pixmap pixmap = new Pixmap(Gdx.files.internal(filename)) ;
-			// Scan pixels from top-left to bottom-right
-			int lastPixel = -1 ;
-			for(int pixelY = 0; pixelY < pixmap.getHeight(); pixelY++)
+			BLOCK_TYPE[] blockTypes = BLOCK_TYPE.values() ;
+			for(int i = 0; i < data.size; i++)
 			{
-				for(int pixelX = 0; pixelX < pixmap.getWidth(); pixelX++)
+				AbstractGameObject obj = null ;
+				float offsetHeight = 0 ;
+				BLOCK_TYPE blockType = blockTypes[data.types[i]] ;
+				int pixelX = data.x[i] ;
+				// Height grows from bottom to top
+				float baseHeight = data.y[i] ;
+
+				// Rock
+				if(blockType == BLOCK_TYPE.ROCK)
+				{
+					obj = new Rock() ;
+					float heightIncreaseFactor = 0.25f ;
+					offsetHeight = -2.5f ;
+					obj.position.set(pixelX, baseHeight * obj.dimension.y * heightIncreaseFactor + offsetHeight) ;
+					((Rock) obj).setLength(data.lengths[i]) ;
+					rocks.add((Rock) obj) ;
+				}
+				// Player spawn point
+				else if(blockType == BLOCK_TYPE.PLAYER_SPAWNPOINT)
+				{
+					obj = new BunnyHead() ;
+					offsetHeight = -3.0f ;
+					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight) ;
+					bunnyHead = (BunnyHead) obj ;
+				}
+				// Feather
+				else if(blockType == BLOCK_TYPE.ITEM_FEATHER)
 				{
-					AbstractGameObject obj = null ;
-					float offsetHeight = 0 ;
-					// Height grows from bottom to top
-					float baseHeight = pixmap.getHeight() - pixelY ;
-					// Get color of current pixel as 32-bit RGBA value
-					int currentPixel = pixmap.getPixel(pixelX, pixelY) ;
-					// Find matching color value to identify block type at (x, y)
-					// point and create the corresponding game object if there is
-					// a match
-
-					// Empty space
-					if(BLOCK_TYPE.EMPTY.sameColor(currentPixel))
-					{
-						// Do nothing
-					}
-					// Rock
-					else if(BLOCK_TYPE.ROCK.sameColor(currentPixel))
-					{
-						if(lastPixel != currentPixel)
-						{
-							obj = new Rock() ;
-							float heightIncreaseFactor = 0.25f ;
-							offsetHeight = -2.5f ;
-							obj.position.set(pixelX, baseHeight * obj.dimension.y * heightIncreaseFactor + offsetHeight) ;
-							rocks.add((Rock) obj) ;
-						}
-						else
-						{
-							rocks.get(rocks.size - 1).increaseLength(1) ;
-						}
-					}
-					// Player spawn point
-					else if(BLOCK_TYPE.PLAYER_SPAWNPOINT.sameColor(currentPixel))
-					{
-						obj = new BunnyHead() ;
-						offsetHeight = -3.0f ;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight) ;
-						bunnyHead = (BunnyHead) obj ;
-					}
-					// Feather
-					else if(BLOCK_TYPE.ITEM_FEATHER.sameColor(currentPixel))
-					{
-						obj = new Feather() ;
-						offsetHeight = -1.5f ;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight) ;
-						feathers.add((Feather) obj);
-					}
-					// Gold coin
-					else if(BLOCK_TYPE.ITEM_GOLD_COIN.sameColor(currentPixel))
-					{
-						obj = new GoldCoin() ;
-						offsetHeight = -1.5f ;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight) ;
-						goldcoins.add((GoldCoin) obj) ;
-					}
-					// Goal
-					else if(BLOCK_TYPE.GOAL.sameColor(currentPixel))
-					{
-						obj = new Goal() ;
-						offsetHeight = -7.0f ;
-						obj.position.set(pixelX, baseHeight + offsetHeight) ;
-						goal = (Goal)obj ;
-					}
-					// Unknown object/pixel color
-					else
-					{
-						int r = 0xff & (currentPixel >>> 24) ; // Red color channel
-						int g = 0xff & (currentPixel >>> 16) ; // Green color channel
-						int b = 0xff & (currentPixel >>> 8) ; // Blue collor channel
-						int a = 0xff & currentPixel ; // Alpha channel
-						Gdx.app.error(TAG, "Unknown object at x<" + pixelX + "> y<" + pixelY + ">: r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + ">") ;
-					}
-					lastPixel = currentPixel ;
+					offsetHeight = -1.5f ;
+					feathers.add(pixelX, baseHeight * feathers.height + offsetHeight) ;
+				}
+				// Gold coin
+				else if(blockType == BLOCK_TYPE.ITEM_GOLD_COIN)
+				{
+					offsetHeight = -1.5f ;
+					goldcoins.add(pixelX, baseHeight * goldcoins.height + offsetHeight) ;
+				}
+				// Goal
+				else if(blockType == BLOCK_TYPE.GOAL)
+				{
+					obj = new Goal() ;
+					offsetHeight = -7.0f ;
+					obj.position.set(pixelX, baseHeight + offsetHeight) ;
+					goal = (Goal)obj ;
 				}
 			}
 
 			// Decoration
-			clouds = new Clouds(pixmap.getWidth()) ;
+			clouds = new Clouds(data.width) ;
 			clouds.position.set(0, 2) ;
-			mountains = new Mountains(pixmap.getWidth()) ;
+			mountains = new Mountains(data.width) ;
 			mountains.position.set(-1, -1) ;
-			waterOverlay = new WaterOverlay(pixmap.getWidth()) ;
+			waterOverlay = new WaterOverlay(data.width) ;
 			waterOverlay.position.set(0, -3.75f) ;
 
-			// Free memory
-			pixmap.dispose() ;
+			initSpatialGrids() ;
+
+			// Remember the initial state for fast respawns
+			snapshot = new LevelSnapshot(this) ;
 			Gdx.app.debug(TAG, "level'" + filename + "' loaded") ;
 		}
 
+		/**
+		 * Sorts rocks, coins and feathers into uniform grids so
+		 * collision tests only look at nearby objects
+		 */
+		private void initSpatialGrids()
+		{
+			rockGrid = new SpatialGrid(Constants.SPATIAL_GRID_CELL_SIZE, rocks.size) ;
+			for(int i = 0; i < rocks.size; i++)
+			{
+				insert(rockGrid, i, rocks.get(i)) ;
+			}
+			goldcoinGrid = new SpatialGrid(Constants.SPATIAL_GRID_CELL_SIZE, goldcoins.size) ;
+			for(int i = 0; i < goldcoins.size; i++)
+			{
+				goldcoinGrid.insert(i, goldcoins.x[i], goldcoins.y[i], goldcoins.width, goldcoins.height) ;
+			}
+			featherGrid = new SpatialGrid(Constants.SPATIAL_GRID_CELL_SIZE, feathers.size) ;
+			for(int i = 0; i < feathers.size; i++)
+			{
+				featherGrid.insert(i, feathers.x[i], feathers.y[i], feathers.width, feathers.height) ;
+			}
+		}
+
+		private void insert(SpatialGrid grid, int id, AbstractGameObject obj)
+		{
+			grid.insert(id, obj.position.x + obj.bounds.x, obj.position.y + obj.bounds.y,
+				obj.bounds.width, obj.bounds.height) ;
+		}
+
+		/**
+		 * Puts the level back into the state it was loaded in
+		 * without reading the level file or creating new objects
+		 */
+		public void reset()
+		{
+			snapshot.restore(this) ;
+		}
+
+		/**
+		 * Gives the level new random starting values that depend
+		 * only on the current random seed. Takes effect on the next
+		 * reset
+		 */
+		public void randomizeStart()
+		{
+			snapshot.randomize(this) ;
+		}
+
+		/**
+		 * Remembers where the moving objects are before a
+		 * simulation step so drawing can interpolate
+		 */
+		public void storePreviousPositions()
+		{
+			bunnyHead.storePreviousPosition() ;
+			for(int i = 0; i < rocks.size; i++)
+			{
+				rocks.get(i).storePreviousPosition() ;
+			}
+			for(int i = 0; i < carrots.size; i++)
+			{
+				carrots.get(i).storePreviousPosition() ;
+			}
+		}
+
+		/**
+		 * Places the moving objects in between their previous and
+		 * simulated positions for drawing
+		 * @param alpha fraction of the next step that has passed
+		 */
+		public void beginInterpolation(float alpha)
+		{
+			bunnyHead.beginInterpolation(alpha) ;
+			for(int i = 0; i < rocks.size; i++)
+			{
+				rocks.get(i).beginInterpolation(alpha) ;
+			}
+			for(int i = 0; i < carrots.size; i++)
+			{
+				carrots.get(i).beginInterpolation(alpha) ;
+			}
+		}
+
+		/**
+		 * Puts the moving objects back at their simulated positions
+		 */
+		public void endInterpolation()
+		{
+			bunnyHead.endInterpolation() ;
+			for(int i = 0; i < rocks.size; i++)
+			{
+				rocks.get(i).endInterpolation() ;
+			}
+			for(int i = 0; i < carrots.size; i++)
+			{
+				carrots.get(i).endInterpolation() ;
+			}
+		}
+
 		/**
 		 * Called to draw all background images as well as all
-		 * coins, feathers, rocks and the player character
+		 * coins, feathers, rocks and the player character.
+		 * Objects outside the view bounds are skipped
+		 * @param viewBounds visible area of the world including
+		 * the culling margin
 		 */
-		public void render(SpriteBatch batch)
+		public void render(SpriteBatch batch, Rectangle viewBounds)
 		{
-			// Draw Mountains
-			mountains.render(batch) ;
+			render(batch, viewBounds, null) ;
+		}
 
-			// Draw Goal
-			goal.render(batch) ;
+		/**
+		 * Draws the mountains and goal from a static geometry
+		 * cache. Call outside of the sprite batch, before
+		 * render(batch, viewBounds, staticCache)
+		 */
+		public void renderStatic(StaticGeometryCache staticCache, Matrix4 projection, Rectangle viewBounds)
+		{
+			mountains.setVisibleRange(viewBounds.x, viewBounds.x + viewBounds.width) ;
+			staticCache.render(projection) ;
+		}
+
+		/**
+		 * Same as render(batch, viewBounds) but leaves out the
+		 * mountains and goal when they come from a static geometry
+		 * cache, see renderStatic()
+		 */
+		public void render(SpriteBatch batch, Rectangle viewBounds, StaticGeometryCache staticCache)
+		{
+			this.viewBounds.set(viewBounds) ;
+			objectsSubmitted = 0 ;
+			objectsCulled = 0 ;
 
-			// Draw Rocks
-			for (Rock rock : rocks)
+			if(staticCache != null)
 			{
-				rock.render(batch) ;
+				// Goal drawn whole, the graphics card clips it off screen
+				objectsSubmitted++ ;
 			}
-			// Draw Gold Coins
-			for(GoldCoin goldCoin : goldcoins)
+			else
 			{
-				goldCoin.render(batch) ;
+				// Draw Mountains
+				mountains.setVisibleRange(viewBounds.x, viewBounds.x + viewBounds.width) ;
+				mountains.render(batch) ;
+
+				// Draw Goal
+				if(isVisible(goal.position.x - goal.origin.x, goal.position.y - goal.origin.y,
+					goal.dimension.x, goal.dimension.y))
+				{
+					goal.render(batch) ;
+					objectsSubmitted++ ;
+				}
+				else
+				{
+					objectsCulled++ ;
+				}
 			}
-			// Draw Feathers
-			for(Feather feather : feathers)
+			// Draw Rocks, they float on their own cycles
+			query(rockGrid, rocks.size) ;
+			for(int i = 0; i < visible.size; i++)
 			{
-				feather.render(batch) ;
+				rocks.get(visible.get(i)).render(batch) ;
+				objectsSubmitted++ ;
 			}
+			// Draw Gold Coins
+			query(goldcoinGrid, goldcoins.size) ;
+			objectsSubmitted += goldcoins.render(batch, visible) ;
+			// Draw Feathers
+			query(featherGrid, feathers.size) ;
+			objectsSubmitted += feathers.render(batch, visible) ;
 			// Draw Carrots
-			for(Carrot carrot: carrots)
+			for(int i = 0; i < carrots.size; i++)
 			{
-				carrot.render(batch) ;
+				Carrot carrot = carrots.get(i) ;
+				if(isVisible(carrot.position.x - carrot.dimension.x, carrot.position.y - carrot.dimension.y,
+					carrot.dimension.x * 2, carrot.dimension.y * 2))
+				{
+					carrot.render(batch) ;
+					objectsSubmitted++ ;
+				}
+				else
+				{
+					objectsCulled++ ;
+				}
 			}
 			// Draw player character
 			bunnyHead.render(batch) ;
+			objectsSubmitted++ ;
 
 			// Draw Water Overlay
 			waterOverlay.render(batch) ;
@@ -249,26 +399,41 @@ public class Level
 		}
 
 		/**
-		 * Updates moving objects and stops rendering of collected items
+		 * Fills the visible list with the objects of the grid that
+		 * overlap the view bounds and counts the skipped ones
+		 */
+		private void query(SpatialGrid grid, int total)
+		{
+			grid.query(viewBounds.x, viewBounds.y, viewBounds.width, viewBounds.height, visible) ;
+			objectsCulled += total - visible.size ;
+		}
+
+		private boolean isVisible(float x, float y, float width, float height)
+		{
+			return x < viewBounds.x + viewBounds.width && x + width > viewBounds.x
+				&& y < viewBounds.y + viewBounds.height && y + height > viewBounds.y ;
+		}
+
+		/**
+		 * Updates moving objects and stops rendering of collected items.
+		 * Coins and feathers have no physics, only their shared
+		 * animation clocks advance
 		 */
 		public void update(float deltaTime)
 		{
 			bunnyHead.update(deltaTime) ;
 
-			for(Rock rock : rocks)
+			// Rocks float up and down, keep their grid cells current
+			for(int i = 0; i < rocks.size; i++)
 			{
+				Rock rock = rocks.get(i) ;
 				rock.update(deltaTime) ;
+				rockGrid.update(i, rock.position.x + rock.bounds.x, rock.position.y + rock.bounds.y,
+					rock.bounds.width, rock.bounds.height) ;
 			}
 
-			for(GoldCoin goldCoin : goldcoins)
-			{
-				goldCoin.update(deltaTime) ;
-			}
-
-			for(Feather feather : feathers)
-			{
-				feather.update(deltaTime) ;
-			}
+			goldcoins.update(deltaTime) ;
+			feathers.update(deltaTime) ;
 
 			for(Carrot carrot : carrots)
 			{
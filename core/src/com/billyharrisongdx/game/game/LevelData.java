@@ -0,0 +1,359 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/18/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import java.io.BufferedInputStream ;
+import java.io.BufferedOutputStream ;
+import java.io.DataInputStream ;
+import java.io.DataOutputStream ;
+import java.io.IOException ;
+import java.util.zip.CRC32 ;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.files.FileHandle ;
+import com.badlogic.gdx.graphics.Pixmap ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.badlogic.gdx.utils.StreamUtils ;
+import com.billyharrisongdx.game.game.Level.BLOCK_TYPE ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Compact list of the objects placed in a level. Built once
+ * from the color coded level image and stored in a binary
+ * file so later loads only read the objects instead of every
+ * pixel of the image
+ */
+public class LevelData
+{
+	public static final String TAG = LevelData.class.getName() ;
+
+	// File extension of compiled levels
+	public static final String COMPILED_EXTENSION = ".lvl" ;
+
+	// "CBLV" and format version written at the start of every file
+	private static final int MAGIC = 0x43424c56 ;
+	private static final int VERSION = 2 ;
+
+	/**
+	 * Size of the level image in pixels
+	 */
+	public int width ;
+	public int height ;
+
+	/**
+	 * One entry per object: block type, x position, height
+	 * counted from the bottom, and length (rocks only)
+	 */
+	public int size ;
+	public byte[] types ;
+	public int[] x ;
+	public int[] y ;
+	public int[] lengths ;
+
+	public LevelData(int width, int height, int capacity)
+	{
+		this.width = width ;
+		this.height = height ;
+		types = new byte[capacity] ;
+		x = new int[capacity] ;
+		y = new int[capacity] ;
+		lengths = new int[capacity] ;
+	}
+
+	/**
+	 * Adds an object, growing the arrays when they are full
+	 */
+	public void add(BLOCK_TYPE type, int posX, int posY, int length)
+	{
+		if(size == types.length)
+		{
+			int capacity = Math.max(8, size * 2) ;
+			byte[] newTypes = new byte[capacity] ;
+			int[] newX = new int[capacity] ;
+			int[] newY = new int[capacity] ;
+			int[] newLengths = new int[capacity] ;
+			System.arraycopy(types, 0, newTypes, 0, size) ;
+			System.arraycopy(x, 0, newX, 0, size) ;
+			System.arraycopy(y, 0, newY, 0, size) ;
+			System.arraycopy(lengths, 0, newLengths, 0, size) ;
+			types = newTypes ;
+			x = newX ;
+			y = newY ;
+			lengths = newLengths ;
+		}
+		types[size] = (byte) type.ordinal() ;
+		x[size] = posX ;
+		y[size] = posY ;
+		lengths[size] = length ;
+		size++ ;
+	}
+
+	/**
+	 * Returns the compiled file name for a level image
+	 */
+	public static String getCompiledName(String filename)
+	{
+		int dot = filename.lastIndexOf('.') ;
+		return (dot < 0 ? filename : filename.substring(0, dot)) + COMPILED_EXTENSION ;
+	}
+
+	/**
+	 * Returns the name a level image is cached under in local
+	 * storage. Made from the whole path so levels with the same
+	 * name in different folders get their own file
+	 */
+	public static String getCacheName(String filename)
+	{
+		String name = getCompiledName(filename).replace('\\', '/') ;
+		return name.replace("../", "up_").replace('/', '_') ;
+	}
+
+	/**
+	 * Returns a value that changes whenever the contents of a
+	 * level image change: its length and a checksum of its bytes.
+	 * Unlike modification times this also works for files packed
+	 * in a jar or an APK
+	 */
+	public static long getSourceStamp(byte[] imageBytes)
+	{
+		CRC32 crc = new CRC32() ;
+		crc.update(imageBytes, 0, imageBytes.length) ;
+		return ((long) imageBytes.length << 32) | crc.getValue() ;
+	}
+
+	/**
+	 * Loads the objects of a level. Uses the compiled file shipped
+	 * next to the image (see LevelConverter) or one cached in local
+	 * storage by an earlier run if it was built from the same image,
+	 * otherwise scans the level image and caches the result for the
+	 * next time
+	 */
+	public static LevelData load(String filename)
+	{
+		FileHandle image = Gdx.files.internal(filename) ;
+		byte[] imageBytes = image.readBytes() ;
+		long stamp = getSourceStamp(imageBytes) ;
+
+		FileHandle prebuilt = Gdx.files.internal(getCompiledName(filename)) ;
+		LevelData data = readIfExists(prebuilt, stamp) ;
+		if(data != null) return data ;
+
+		// Internal files are read-only on most platforms, so the
+		// cache is kept in local storage
+		FileHandle cached = Gdx.files.local(Constants.LEVEL_CACHE_DIR + "/" + getCacheName(filename)) ;
+		data = readIfExists(cached, stamp) ;
+		if(data != null) return data ;
+
+		// Missing or stale, scan the image
+		Pixmap pixmap = new Pixmap(imageBytes, 0, imageBytes.length) ;
+		data = fromPixmap(pixmap) ;
+		pixmap.dispose() ;
+
+		try
+		{
+			data.write(cached, stamp) ;
+			Gdx.app.debug(TAG, "level cache '" + cached.path() + "' written") ;
+		}
+		catch(GdxRuntimeException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't write level cache '" + cached.path() + "'", ex) ;
+		}
+		return data ;
+	}
+
+	/**
+	 * Reads a compiled level if the file exists and is up to date
+	 */
+	private static LevelData readIfExists(FileHandle file, long sourceStamp)
+	{
+		if(!file.exists()) return null ;
+		LevelData data = read(file, sourceStamp) ;
+		if(data != null)
+		{
+			Gdx.app.debug(TAG, "level '" + file.path() + "' read from compiled file") ;
+		}
+		return data ;
+	}
+
+	/**
+	 * Scans a level image loaded as a pixmap
+	 */
+	public static LevelData fromPixmap(Pixmap pixmap)
+	{
+		int width = pixmap.getWidth() ;
+		int height = pixmap.getHeight() ;
+		int[] pixels = new int[width * height] ;
+		for(int pixelY = 0; pixelY < height; pixelY++)
+		{
+			for(int pixelX = 0; pixelX < width; pixelX++)
+			{
+				pixels[pixelY * width + pixelX] = pixmap.getPixel(pixelX, pixelY) ;
+			}
+		}
+		return fromPixels(width, height, pixels, false) ;
+	}
+
+	/**
+	 * Scans the pixels of a level image (32-bit RGBA values, top-left
+	 * to bottom-right) and collects the objects they represent
+	 * @param strict throw on pixels of an unknown color instead of
+	 * logging and skipping them
+	 */
+	public static LevelData fromPixels(int width, int height, int[] pixels, boolean strict)
+	{
+		LevelData data = new LevelData(width, height, 64) ;
+		// Scan pixels from top-left to bottom-right
+		int lastPixel = -1 ;
+		for(int pixelY = 0; pixelY < height; pixelY++)
+		{
+			for(int pixelX = 0; pixelX < width; pixelX++)
+			{
+				// Height grows from bottom to top
+				int baseHeight = height - pixelY ;
+				int currentPixel = pixels[pixelY * width + pixelX] ;
+
+				// Empty space
+				if(BLOCK_TYPE.EMPTY.sameColor(currentPixel))
+				{
+					// Do nothing
+				}
+				// Rock
+				else if(BLOCK_TYPE.ROCK.sameColor(currentPixel))
+				{
+					if(lastPixel != currentPixel)
+					{
+						data.add(BLOCK_TYPE.ROCK, pixelX, baseHeight, 1) ;
+					}
+					else
+					{
+						data.lengths[data.size - 1]++ ;
+					}
+				}
+				// Player spawn point
+				else if(BLOCK_TYPE.PLAYER_SPAWNPOINT.sameColor(currentPixel))
+				{
+					data.add(BLOCK_TYPE.PLAYER_SPAWNPOINT, pixelX, baseHeight, 1) ;
+				}
+				// Feather
+				else if(BLOCK_TYPE.ITEM_FEATHER.sameColor(currentPixel))
+				{
+					data.add(BLOCK_TYPE.ITEM_FEATHER, pixelX, baseHeight, 1) ;
+				}
+				// Gold coin
+				else if(BLOCK_TYPE.ITEM_GOLD_COIN.sameColor(currentPixel))
+				{
+					data.add(BLOCK_TYPE.ITEM_GOLD_COIN, pixelX, baseHeight, 1) ;
+				}
+				// Goal
+				else if(BLOCK_TYPE.GOAL.sameColor(currentPixel))
+				{
+					data.add(BLOCK_TYPE.GOAL, pixelX, baseHeight, 1) ;
+				}
+				// Unknown object/pixel color
+				else
+				{
+					int r = 0xff & (currentPixel >>> 24) ; // Red color channel
+					int g = 0xff & (currentPixel >>> 16) ; // Green color channel
+					int b = 0xff & (currentPixel >>> 8) ; // Blue collor channel
+					int a = 0xff & currentPixel ; // Alpha channel
+					String message = "Unknown object at x<" + pixelX + "> y<" + pixelY + ">: r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + ">" ;
+					if(strict)
+					{
+						throw new GdxRuntimeException(message) ;
+					}
+					Gdx.app.error(TAG, message) ;
+				}
+				lastPixel = currentPixel ;
+			}
+		}
+		return data ;
+	}
+
+	/**
+	 * Reads a compiled level. Returns null if the file is not a
+	 * compiled level or was built from a different level image
+	 * @param sourceStamp stamp of the level image, see getSourceStamp
+	 */
+	public static LevelData read(FileHandle file, long sourceStamp)
+	{
+		DataInputStream in = null ;
+		try
+		{
+			in = new DataInputStream(new BufferedInputStream(file.read())) ;
+			if(in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				return null ;
+			}
+			if(in.readLong() != sourceStamp)
+			{
+				// Level image changed since it was compiled
+				return null ;
+			}
+			int width = in.readInt() ;
+			int height = in.readInt() ;
+			int size = in.readInt() ;
+			LevelData data = new LevelData(width, height, size) ;
+			for(int i = 0; i < size; i++)
+			{
+				data.types[i] = in.readByte() ;
+				data.x[i] = in.readInt() ;
+				data.y[i] = in.readInt() ;
+				data.lengths[i] = data.types[i] == BLOCK_TYPE.ROCK.ordinal() ? in.readInt() : 1 ;
+			}
+			data.size = size ;
+			return data ;
+		}
+		catch(IOException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't read compiled level '" + file.path() + "'", ex) ;
+			return null ;
+		}
+		finally
+		{
+			StreamUtils.closeQuietly(in) ;
+		}
+	}
+
+	/**
+	 * Writes this level in the compiled format
+	 * @param sourceStamp stamp of the level image, see getSourceStamp
+	 */
+	public void write(FileHandle file, long sourceStamp)
+	{
+		DataOutputStream out = null ;
+		try
+		{
+			out = new DataOutputStream(new BufferedOutputStream(file.write(false))) ;
+			out.writeInt(MAGIC) ;
+			out.writeInt(VERSION) ;
+			out.writeLong(sourceStamp) ;
+			out.writeInt(width) ;
+			out.writeInt(height) ;
+			out.writeInt(size) ;
+			for(int i = 0; i < size; i++)
+			{
+				out.writeByte(types[i]) ;
+				out.writeInt(x[i]) ;
+				out.writeInt(y[i]) ;
+				if(types[i] == BLOCK_TYPE.ROCK.ordinal())
+				{
+					out.writeInt(lengths[i]) ;
+				}
+			}
+		}
+		catch(IOException ex)
+		{
+			throw new GdxRuntimeException("Error writing compiled level: " + file.path(), ex) ;
+		}
+		finally
+		{
+			StreamUtils.closeQuietly(out) ;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/17/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import com.billyharrisongdx.game.game.objects.BunnyHead ;
+import com.billyharrisongdx.game.game.objects.Rock ;
+
+/**
+ * Holds the state of a freshly loaded level so it can be
+ * put back in place on respawn without reading the level
+ * file again or creating new game objects
+ */
+public class LevelSnapshot
+{
+	// Player character
+	private float bunnyX ;
+	private float bunnyY ;
+
+	// Rocks stored as x/y pairs plus their float cycle
+	private final float[] rockPositions ;
+	private final float[] rockFloatTimes ;
+
+	// Time of the gold coin animation
+	private float coinAnimationTime ;
+
+	/**
+	 * Captures the current state of the level
+	 */
+	public LevelSnapshot(Level level)
+	{
+		rockPositions = new float[level.rocks.size * 2] ;
+		rockFloatTimes = new float[level.rocks.size] ;
+		capture(level) ;
+	}
+
+	private void capture(Level level)
+	{
+		bunnyX = level.bunnyHead.position.x ;
+		bunnyY = level.bunnyHead.position.y ;
+
+		for(int i = 0; i < level.rocks.size; i++)
+		{
+			Rock rock = level.rocks.get(i) ;
+			rockPositions[i * 2] = rock.position.x ;
+			rockPositions[i * 2 + 1] = rock.position.y ;
+			rockFloatTimes[i] = rock.getFloatCycleTimeLeft() ;
+		}
+
+		coinAnimationTime = level.goldcoins.clock.getTime() ;
+	}
+
+	/**
+	 * Picks new random float cycles for the rocks, used from the
+	 * next restore on
+	 */
+	public void randomize(Level level)
+	{
+		for(int i = 0; i < level.rocks.size; i++)
+		{
+			rockFloatTimes[i] = level.rocks.get(i).randomFloatCycleTime() ;
+		}
+	}
+
+	/**
+	 * Puts every object of the level back to the captured state.
+	 * Rock bodies are moved in place, carrots are dropped from the
+	 * level (their bodies must already be destroyed by the caller)
+	 */
+	public void restore(Level level)
+	{
+		// Player character
+		BunnyHead bunnyHead = level.bunnyHead ;
+		bunnyHead.init() ;
+		bunnyHead.position.set(bunnyX, bunnyY) ;
+
+		// Rocks
+		for(int i = 0; i < level.rocks.size; i++)
+		{
+			Rock rock = level.rocks.get(i) ;
+			rock.position.set(rockPositions[i * 2], rockPositions[i * 2 + 1]) ;
+			rock.resetFloating(rockFloatTimes[i]) ;
+			if(rock.body != null)
+			{
+				rock.body.setTransform(rock.position, 0) ;
+				rock.body.setLinearVelocity(0, 0) ;
+			}
+		}
+
+		// Gold coins
+		level.goldcoins.resetCollected() ;
+		level.goldcoins.clock.setTime(coinAnimationTime) ;
+
+		// Feathers
+		level.feathers.resetCollected() ;
+
+		// Carrots
+		level.carrots.clear() ;
+	}
+}
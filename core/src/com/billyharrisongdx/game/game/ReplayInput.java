@@ -0,0 +1,46 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/29/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+/**
+ * Plays back a recording step by step. No buttons are held
+ * once the recording has ended
+ */
+public class ReplayInput implements InputSource
+{
+	private final InputRecording recording ;
+
+	// Current run and steps played of it so far
+	private int run ;
+	private int stepsPlayed ;
+
+	public ReplayInput(InputRecording recording)
+	{
+		this.recording = recording ;
+	}
+
+	public boolean isFinished()
+	{
+		return run >= recording.getRunCount() ;
+	}
+
+	@Override
+	public int poll()
+	{
+		if(isFinished()) return 0 ;
+		int buttons = recording.getRunButtons(run) ;
+		stepsPlayed++ ;
+		if(stepsPlayed == recording.getRunLength(run))
+		{
+			run++ ;
+			stepsPlayed = 0 ;
+		}
+		return buttons ;
+	}
+}
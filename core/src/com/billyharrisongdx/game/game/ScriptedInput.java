@@ -0,0 +1,56 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/28/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+/**
+ * Plays a fixed list of button presses, each held for a number of
+ * simulation steps. The list starts over when it runs out
+ */
+public class ScriptedInput implements InputSource
+{
+	private final int[] buttons ;
+	private final int[] steps ;
+
+	// Current entry and steps it was held so far
+	private int index ;
+	private int stepsHeld ;
+
+	/**
+	 * @param buttons buttons of each entry, see InputSource
+	 * @param steps how many simulation steps each entry is held
+	 */
+	public ScriptedInput(int[] buttons, int[] steps)
+	{
+		if(buttons.length == 0 || buttons.length != steps.length)
+		{
+			throw new IllegalArgumentException("Every button entry needs a step count") ;
+		}
+		for(int i = 0; i < steps.length; i++)
+		{
+			if(steps[i] <= 0)
+			{
+				throw new IllegalArgumentException("Step counts must be positive") ;
+			}
+		}
+		this.buttons = buttons ;
+		this.steps = steps ;
+	}
+
+	@Override
+	public int poll()
+	{
+		while(stepsHeld >= steps[index])
+		{
+			stepsHeld = 0 ;
+			index = (index + 1) % buttons.length ;
+		}
+		stepsHeld++ ;
+		return buttons[index] ;
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/19/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import com.badlogic.gdx.math.MathUtils ;
+import com.badlogic.gdx.utils.IntArray ;
+import com.badlogic.gdx.utils.LongMap ;
+
+/**
+ * Uniform grid that sorts objects into square cells so that
+ * collision tests only look at objects close to an area.
+ * Objects are stored by their index in the level's arrays
+ */
+public class SpatialGrid
+{
+	private final float cellSize ;
+
+	// Indices of the objects overlapping each non-empty cell
+	private final LongMap<IntArray> cells = new LongMap<IntArray>() ;
+
+	// Cell range each object currently occupies
+	private int[] minCellX ;
+	private int[] minCellY ;
+	private int[] maxCellX ;
+	private int[] maxCellY ;
+	private boolean[] inserted ;
+
+	// Marks objects already added to a query result
+	private int[] queryMarks ;
+	private int queryStamp ;
+
+	public SpatialGrid(float cellSize, int capacity)
+	{
+		this.cellSize = cellSize ;
+		ensureCapacity(Math.max(capacity, 1)) ;
+	}
+
+	/**
+	 * Adds an object with the given bounds
+	 */
+	public void insert(int id, float x, float y, float width, float height)
+	{
+		if(id >= inserted.length)
+		{
+			ensureCapacity(Math.max(id + 1, inserted.length * 2)) ;
+		}
+		if(inserted[id])
+		{
+			remove(id) ;
+		}
+		minCellX[id] = toCell(x) ;
+		minCellY[id] = toCell(y) ;
+		maxCellX[id] = toCell(x + width) ;
+		maxCellY[id] = toCell(y + height) ;
+		inserted[id] = true ;
+		for(int cx = minCellX[id]; cx <= maxCellX[id]; cx++)
+		{
+			for(int cy = minCellY[id]; cy <= maxCellY[id]; cy++)
+			{
+				long key = key(cx, cy) ;
+				IntArray cell = cells.get(key) ;
+				if(cell == null)
+				{
+					cell = new IntArray(4) ;
+					cells.put(key, cell) ;
+				}
+				cell.add(id) ;
+			}
+		}
+	}
+
+	/**
+	 * Moves an object to new bounds. Only touches the cells
+	 * when the object actually crossed a cell border
+	 */
+	public void update(int id, float x, float y, float width, float height)
+	{
+		if(id < inserted.length && inserted[id]
+			&& minCellX[id] == toCell(x) && minCellY[id] == toCell(y)
+			&& maxCellX[id] == toCell(x + width) && maxCellY[id] == toCell(y + height))
+		{
+			return ;
+		}
+		insert(id, x, y, width, height) ;
+	}
+
+	/**
+	 * Takes an object out of the grid
+	 */
+	public void remove(int id)
+	{
+		if(id >= inserted.length || !inserted[id]) return ;
+		for(int cx = minCellX[id]; cx <= maxCellX[id]; cx++)
+		{
+			for(int cy = minCellY[id]; cy <= maxCellY[id]; cy++)
+			{
+				IntArray cell = cells.get(key(cx, cy)) ;
+				if(cell != null)
+				{
+					cell.removeValue(id) ;
+				}
+			}
+		}
+		inserted[id] = false ;
+	}
+
+	/**
+	 * Collects every object in the cells overlapping the area.
+	 * Results are sorted by index and contain each object once;
+	 * callers still have to test the exact bounds
+	 * @return result, cleared and refilled
+	 */
+	public IntArray query(float x, float y, float width, float height, IntArray result)
+	{
+		result.clear() ;
+		queryStamp++ ;
+		int startX = toCell(x) ;
+		int startY = toCell(y) ;
+		int endX = toCell(x + width) ;
+		int endY = toCell(y + height) ;
+		for(int cx = startX; cx <= endX; cx++)
+		{
+			for(int cy = startY; cy <= endY; cy++)
+			{
+				IntArray cell = cells.get(key(cx, cy)) ;
+				if(cell == null) continue ;
+				for(int i = 0; i < cell.size; i++)
+				{
+					int id = cell.get(i) ;
+					if(queryMarks[id] == queryStamp) continue ;
+					queryMarks[id] = queryStamp ;
+					result.add(id) ;
+				}
+			}
+		}
+		result.sort() ;
+		return result ;
+	}
+
+	private int toCell(float value)
+	{
+		return MathUtils.floor(value / cellSize) ;
+	}
+
+	private static long key(int cellX, int cellY)
+	{
+		return ((long) cellX << 32) | (cellY & 0xffffffffL) ;
+	}
+
+	private void ensureCapacity(int capacity)
+	{
+		minCellX = grow(minCellX, capacity) ;
+		minCellY = grow(minCellY, capacity) ;
+		maxCellX = grow(maxCellX, capacity) ;
+		maxCellY = grow(maxCellY, capacity) ;
+		queryMarks = grow(queryMarks, capacity) ;
+		boolean[] newInserted = new boolean[capacity] ;
+		if(inserted != null)
+		{
+			System.arraycopy(inserted, 0, newInserted, 0, inserted.length) ;
+		}
+		inserted = newInserted ;
+	}
+
+	private static int[] grow(int[] array, int capacity)
+	{
+		int[] newArray = new int[capacity] ;
+		if(array != null)
+		{
+			System.arraycopy(array, 0, newArray, 0, array.length) ;
+		}
+		return newArray ;
+	}
+}
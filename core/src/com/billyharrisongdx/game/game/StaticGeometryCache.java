@@ -0,0 +1,201 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/22/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.graphics.GL20 ;
+import com.badlogic.gdx.graphics.g2d.SpriteCache ;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram ;
+import com.badlogic.gdx.math.Matrix4 ;
+import com.badlogic.gdx.utils.Disposable ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.billyharrisongdx.game.game.objects.Mountains ;
+
+/**
+ * Keeps the vertices of the mountains and goal of a level on the
+ * graphics card. They are built once when the level is loaded and
+ * drawn together in one pass before the sprite batch. The rocks
+ * each float on their own cycle and stay in the sprite batch
+ */
+public class StaticGeometryCache implements Disposable
+{
+	public static final String TAG = StaticGeometryCache.class.getName() ;
+
+	// Most images a cache with indexed geometry can hold
+	private static final int MAX_INDEXED_IMAGES = 5460 ;
+
+	// Same as the default sprite cache shader, but the matrix can be
+	// changed between the ranges of one begin/end
+	private static final String VERTEX_SHADER =
+		"attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+		+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+		+ "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+		+ "uniform mat4 u_projTrans;\n"
+		+ "varying vec4 v_color;\n"
+		+ "varying vec2 v_texCoords;\n"
+		+ "void main()\n"
+		+ "{\n"
+		+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+		+ "   v_color.a = v_color.a * (255.0/254.0);\n"
+		+ "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+		+ "   gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+		+ "}\n" ;
+	private static final String FRAGMENT_SHADER =
+		"#ifdef GL_ES\n"
+		+ "precision mediump float;\n"
+		+ "#endif\n"
+		+ "varying vec4 v_color;\n"
+		+ "varying vec2 v_texCoords;\n"
+		+ "uniform sampler2D u_texture;\n"
+		+ "void main()\n"
+		+ "{\n"
+		+ "  gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+		+ "}" ;
+
+	private SpriteCache spriteCache ;
+	private ShaderProgram shader ;
+	private Level level ;
+
+	// Cache id of every mountain layer and the goal
+	private int[] mountainCacheIds ;
+	private int goalCacheId ;
+
+	private final Matrix4 projection = new Matrix4() ;
+	private final Matrix4 combined = new Matrix4() ;
+
+	/**
+	 * Returns true if the cache holds the geometry of the level
+	 */
+	public boolean isBuiltFor(Level level)
+	{
+		return this.level == level ;
+	}
+
+	/**
+	 * Caches the mountains and goal of the level, replacing the
+	 * geometry of any previous level
+	 */
+	public void build(Level level)
+	{
+		disposeCache() ;
+		this.level = level ;
+		if(shader == null)
+		{
+			shader = createShader() ;
+		}
+
+		Mountains mountains = level.mountains ;
+		int imageCount = 1 ;
+		for(int layer = 0; layer < mountains.getLayerCount(); layer++)
+		{
+			imageCount += mountains.getLayerImageCount(layer) ;
+		}
+		spriteCache = new SpriteCache(imageCount, imageCount <= MAX_INDEXED_IMAGES) ;
+		spriteCache.setShader(shader) ;
+
+		// Mountains
+		mountainCacheIds = new int[mountains.getLayerCount()] ;
+		for(int layer = 0; layer < mountainCacheIds.length; layer++)
+		{
+			spriteCache.beginCache() ;
+			mountains.addLayerToCache(spriteCache, layer) ;
+			mountainCacheIds[layer] = spriteCache.endCache() ;
+		}
+
+		// Goal
+		spriteCache.beginCache() ;
+		level.goal.addToCache(spriteCache) ;
+		goalCacheId = spriteCache.endCache() ;
+		Gdx.app.debug(TAG, "cached " + imageCount + " images") ;
+	}
+
+	/**
+	 * Draws the mountain layers shifted by their parallax scrolling
+	 * and the goal, all in one begin/end. Only the part of each
+	 * mountain layer inside its visible range is drawn
+	 */
+	public void render(Matrix4 projection)
+	{
+		this.projection.set(projection) ;
+		Mountains mountains = level.mountains ;
+		beginBlending() ;
+		spriteCache.begin() ;
+
+		for(int layer = 0; layer < mountainCacheIds.length; layer++)
+		{
+			int count = mountains.getVisibleImageCount(layer) ;
+			if(count == 0) continue ;
+			setOffset(mountains.getLayerScrollX(layer), 0) ;
+			spriteCache.draw(mountainCacheIds[layer], mountains.getFirstVisibleImage(layer), count) ;
+		}
+
+		setOffset(0, 0) ;
+		spriteCache.draw(goalCacheId) ;
+
+		spriteCache.end() ;
+		endBlending() ;
+	}
+
+	/**
+	 * Moves the ranges drawn next by the given amount
+	 */
+	private void setOffset(float x, float y)
+	{
+		combined.set(projection).translate(x, y, 0) ;
+		shader.setUniformMatrix("u_projTrans", combined) ;
+	}
+
+	private static ShaderProgram createShader()
+	{
+		ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER) ;
+		if(!shader.isCompiled())
+		{
+			throw new GdxRuntimeException("Error compiling static geometry shader: " + shader.getLog()) ;
+		}
+		// SpriteCache.begin() also sets these, the shader does not use them
+		shader.fetchUniformLocation("u_proj", false) ;
+		shader.fetchUniformLocation("u_trans", false) ;
+		return shader ;
+	}
+
+	/**
+	 * SpriteCache does not enable blending on its own
+	 */
+	private void beginBlending()
+	{
+		Gdx.gl.glEnable(GL20.GL_BLEND) ;
+		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA) ;
+	}
+
+	private void endBlending()
+	{
+		Gdx.gl.glDisable(GL20.GL_BLEND) ;
+	}
+
+	private void disposeCache()
+	{
+		if(spriteCache != null)
+		{
+			spriteCache.dispose() ;
+			spriteCache = null ;
+		}
+		level = null ;
+	}
+
+	@Override
+	public void dispose()
+	{
+		disposeCache() ;
+		if(shader != null)
+		{
+			shader.dispose() ;
+			shader = null ;
+		}
+	}
+}
@@ -21,14 +21,14 @@ import com.billyharrisongdx.game.util.CameraHelper;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import com.billyharrisongdx.game.util.Constants ;
+import com.billyharrisongdx.game.util.FrameProfiler ;
 import com.billyharrisongdx.game.game.objects.Rock ;
 import com.badlogic.gdx.math.Rectangle ;
-import com.billyharrisongdx.game.game.objects.GoldCoin ;
-import com.billyharrisongdx.game.game.objects.Feather ;
+import com.billyharrisongdx.game.game.objects.CollectibleStore ;
 import com.billyharrisongdx.game.game.objects.BunnyHead ;
 import com.billyharrisongdx.game.game.objects.BunnyHead.JUMP_STATE ;
 import com.badlogic.gdx.Game ;
-import com.billyharrisongdx.game.screens.MenuScreen ;
+import com.billyharrisongdx.game.screens.ScreenManager ;
 import com.billyharrisongdx.game.util.AudioManager ;
 import com.badlogic.gdx.math.MathUtils ;
 import com.badlogic.gdx.math.Vector2 ;
@@ -40,6 +40,8 @@ import com.badlogic.gdx.physics.box2d.PolygonShape ;
 import com.badlogic.gdx.physics.box2d.World ;
 import com.billyharrisongdx.game.game.objects.Carrot ;
 import com.badlogic.gdx.utils.Disposable ;
+import com.badlogic.gdx.utils.IntArray ;
+import com.badlogic.gdx.utils.Pool ;
 
 public class WorldController extends InputAdapter implements Disposable
 {
@@ -57,11 +59,39 @@ public class WorldController extends InputAdapter implements Disposable
 	public float livesVisual ;
 	public float scoreVisual ;
 	private boolean goalReached ;
+	// Controls of the player, the keyboard unless replaced
+	private InputSource inputSource = new KeyboardInput() ;
+	// Random seed the current session was started with
+	private long seed ;
+	// Whether sessions are recorded and the input of the current one
+	private boolean recordSessions ;
+	private InputRecording recording ;
 	public World b2world ;
 
+	// Reused when creating bodies so no new native shapes are made
+	private BodyDef bodyDef = new BodyDef() ;
+	private FixtureDef fixtureDef = new FixtureDef() ;
+	private PolygonShape polygonShape ;
+	private Vector2 origin = new Vector2() ;
+	private Array<Body> bodies = new Array<Body>() ;
+
+	// Carrots for the goal celebration, created with the level
+	private Pool<Carrot> carrotPool = new Pool<Carrot>(Constants.CARROTS_SPAWN_MAX)
+	{
+		@Override
+		protected Carrot newObject()
+		{
+			return createCarrot() ;
+		}
+	} ;
+	private Array<Carrot> spawnedCarrots = new Array<Carrot>() ;
+	private Vector2 centerPosBunnyHead = new Vector2() ;
+
 	// Rectangles for collision detection
 	private Rectangle r1 = new Rectangle() ;
 	private Rectangle r2 = new Rectangle() ;
+	// Indices of objects near the bunny, reused every frame
+	private IntArray nearby = new IntArray() ;
 	private Game game ;
 
 	/**
@@ -69,65 +99,233 @@ public class WorldController extends InputAdapter implements Disposable
 	 */
 	private float timeLeftGameOverDelay ;
 
+	/**
+	 * Time collected but not yet simulated
+	 */
+	private float accumulator ;
+
 
 	public WorldController(Game game)
+	{
+		this(game, null) ;
+	}
+
+	/**
+	 * Plays a level that is already loaded, LEVEL_01 if null
+	 */
+	public WorldController(Game game, Level level)
 	{
 		this.game = game ;
-		init() ;
+		init(level) ;
 	}
 
 	/**
 	 * Loads level, starts score at 0 and has camera follow bunny
 	 */
-	private void initLevel()
+	private void initLevel(Level level)
 	{
 		score = 0 ; // Initiates score to 0
 		scoreVisual = score ;
 		goalReached = false ;
-		level = new Level(Constants.LEVEL_01) ; // Initiates level using LEVEL_01 map
+		if(level == null)
+		{
+			level = new Level(Constants.LEVEL_01) ; // Initiates level using LEVEL_01 map
+		}
+		if(this.level != null)
+		{
+			// The previous level is dropped, reuse its effects
+			this.level.bunnyHead.freeParticles() ;
+		}
+		this.level = level ;
 		cameraHelper.setTarget(level.bunnyHead) ;
 		initPhysics() ;
 	}
 
+	/**
+	 * Puts the current level back to its starting state after
+	 * losing a life. Reuses the loaded level and physics bodies
+	 * instead of loading the level again
+	 */
+	private void restartLevel()
+	{
+		score = 0 ;
+		scoreVisual = score ;
+		goalReached = false ;
+		// Carrots are only spawned at the goal, return them to the pool
+		carrotPool.freeAll(level.carrots) ;
+		level.reset() ;
+		// Do not interpolate from the old to the new position
+		level.storePreviousPositions() ;
+		cameraHelper.setTarget(level.bunnyHead) ;
+	}
+
 	/**
 	 * Loads camera, sets initial game over delay, and starts with 3 extra lives
 	 */
-	private void init()
+	private void init(Level level)
 	{
-		Gdx.input.setInputProcessor(this) ;
 		cameraHelper = new CameraHelper() ;
 		lives = Constants.LIVES_START ; // Starts level with 3 lives
 		livesVisual = lives ;
 		timeLeftGameOverDelay = 0 ;
-		initLevel() ;
+		accumulator = 0 ;
+		initLevel(level) ;
+	}
+
+	/**
+	 * Starts a new game on the loaded level with a new seed
+	 */
+	public void startSession()
+	{
+		startSession(MathUtils.random.nextLong()) ;
+	}
+
+	/**
+	 * Starts a new game on the loaded level: takes over input,
+	 * refills lives and puts the level back to its start. All
+	 * random numbers of the session come from the seed, so the
+	 * same seed and input play the same game again
+	 */
+	public void startSession(long seed)
+	{
+		this.seed = seed ;
+		MathUtils.random.setSeed(seed) ;
+		level.randomizeStart() ;
+		Gdx.input.setInputProcessor(this) ;
+		lives = Constants.LIVES_START ;
+		livesVisual = lives ;
+		timeLeftGameOverDelay = 0 ;
+		accumulator = 0 ;
+		restartLevel() ;
+		recording = recordSessions ? new InputRecording(level.filename, seed) : null ;
+	}
+
+	/**
+	 * Replaces where the player's controls come from, e.g. with
+	 * a script when no one is playing
+	 */
+	public void setInputSource(InputSource inputSource)
+	{
+		this.inputSource = inputSource ;
+	}
+
+	public long getSeed()
+	{
+		return seed ;
+	}
+
+	/**
+	 * Records the input of every session started from now on.
+	 * Turning it off drops the current recording
+	 */
+	public void setRecordSessions(boolean recordSessions)
+	{
+		this.recordSessions = recordSessions ;
+		if(!recordSessions) recording = null ;
+	}
+
+	/**
+	 * Returns the input of the current session so far, null if
+	 * it is not recorded
+	 */
+	public InputRecording getRecording()
+	{
+		return recording ;
+	}
+
+	public boolean isGoalReached()
+	{
+		return goalReached ;
 	}
 
+	/**
+	 * Creates the physics world the first time and fills it with
+	 * bodies for the rocks of the current level. The world and the
+	 * shape/definition objects are kept and reused afterwards
+	 */
 	private void initPhysics()
 	{
-		if(b2world != null)
+		if(b2world == null)
+		{
+			b2world = new World(new Vector2(0, -9.81f), true) ;
+			polygonShape = new PolygonShape() ;
+		}
+		else
 		{
-			b2world.dispose() ;
+			// Remove the bodies of the previous level
+			b2world.getBodies(bodies) ;
+			for(int i = 0; i < bodies.size; i++)
+			{
+				b2world.destroyBody(bodies.get(i)) ;
+			}
+			bodies.clear() ;
 		}
-		b2world = new World(new Vector2(0, -9.81f), true) ;
 		// Rocks
-		Vector2 origin = new Vector2() ;
 		for(Rock rock : level.rocks)
 		{
-			BodyDef bodyDef = new BodyDef() ;
 			bodyDef.type = BodyType.KinematicBody ;
 			bodyDef.position.set(rock.position) ;
+			bodyDef.angle = 0 ;
+			bodyDef.active = true ;
 				Body body = b2world.createBody(bodyDef) ;
 			rock.body = body ;
-			PolygonShape polygonShape = new PolygonShape() ;
 			origin.x = rock.bounds.width / 2.0f ;
 			origin.y = rock.bounds.height / 2.0f ;
 			polygonShape.setAsBox(rock.bounds.width / 2.0f,
 				rock.bounds.height / 2.0f, origin, 0) ;
-			FixtureDef fixtureDef = new FixtureDef() ;
 			fixtureDef.shape = polygonShape ;
+			fixtureDef.density = 0 ;
+			fixtureDef.restitution = 0 ;
+			fixtureDef.friction = 0.2f ;
 			body.createFixture(fixtureDef) ;
-			polygonShape.dispose() ;
 		}
+		initCarrotPool() ;
+	}
+
+	/**
+	 * Creates the carrots for the goal celebration ahead of time.
+	 * Their bodies stay inactive until the goal is reached
+	 */
+	private void initCarrotPool()
+	{
+		// Old carrot bodies were destroyed with the previous level
+		carrotPool.clear() ;
+		for(int i = 0; i < Constants.CARROTS_SPAWN_MAX; i++)
+		{
+			spawnedCarrots.add(carrotPool.obtain()) ;
+		}
+		carrotPool.freeAll(spawnedCarrots) ;
+		spawnedCarrots.clear() ;
+	}
+
+	/**
+	 * Creates a carrot with a random size and an inactive
+	 * box2d body fixture
+	 */
+	private Carrot createCarrot()
+	{
+		float carrotShapeScale = 0.5f ;
+		Carrot carrot = new Carrot() ;
+		float carrotScale = MathUtils.random(0.5f, 1.5f) ;
+		carrot.scale.set(carrotScale, carrotScale) ;
+		bodyDef.type = BodyType.DynamicBody ;
+		bodyDef.position.set(0, 0) ;
+		bodyDef.angle = 0 ;
+		bodyDef.active = false ;
+			Body body = b2world.createBody(bodyDef) ;
+		carrot.body = body ;
+		// Create rectangular shape for carrot to allow
+		// interactions (collisions) with other objects
+		float halfWidth = carrot.bounds.width / 2.0f * carrotScale ;
+		float halfHeight = carrot.bounds.height / 2.0f * carrotScale ;
+		polygonShape.setAsBox(halfWidth * carrotShapeScale, halfHeight * carrotShapeScale) ;
+		// Set physics attributes
+		fixtureDef.shape = polygonShape ;
+		fixtureDef.density = 50 ;
+		fixtureDef.restitution = 0.5f ;
+		fixtureDef.friction = 0.5f ;
+		body.createFixture(fixtureDef) ;
+		return carrot ;
 	}
 
 //	/**
@@ -150,10 +348,46 @@ public class WorldController extends InputAdapter implements Disposable
 //	}
 
 	/**
-	 * Updates the games state based on the deltaTime
+	 * Updates the games state based on the deltaTime. The time is
+	 * collected and simulated in steps of Constants.FIXED_TIMESTEP so
+	 * the simulation does not depend on the frame rate
 	 */
 	public void update(float deltaTime){
 		handleDebugInput(deltaTime) ;
+		accumulator += deltaTime ;
+		int steps = 0 ;
+		while(accumulator >= Constants.FIXED_TIMESTEP)
+		{
+			if(steps == Constants.MAX_SUBSTEPS)
+			{
+				// Too far behind, drop the time left over instead
+				// of letting the simulation spiral out of control
+				accumulator = 0 ;
+				break ;
+			}
+			level.storePreviousPositions() ;
+			cameraHelper.storePreviousPosition() ;
+			step(Constants.FIXED_TIMESTEP) ;
+			accumulator -= Constants.FIXED_TIMESTEP ;
+			steps++ ;
+		}
+	}
+
+	/**
+	 * Returns how far the time collected so far has advanced into
+	 * the next simulation step, used to interpolate drawing
+	 */
+	public float getInterpolationAlpha()
+	{
+		return accumulator / Constants.FIXED_TIMESTEP ;
+	}
+
+	/**
+	 * Advances the game state by one simulation step
+	 */
+	private void step(float deltaTime)
+	{
+		FrameProfiler profiler = FrameProfiler.instance ;
 		if(isGameOver() || goalReached) // Returns to start screen if all lives are lost
 		{
 			timeLeftGameOverDelay -= deltaTime ;
@@ -164,12 +398,22 @@ public class WorldController extends InputAdapter implements Disposable
 		}
 		else
 		{
+			profiler.begin(FrameProfiler.INPUT) ;
 			handleInputGame(deltaTime) ;
+			profiler.end(FrameProfiler.INPUT) ;
 		}
+		profiler.begin(FrameProfiler.LEVEL) ;
 		level.update(deltaTime) ;
+		profiler.end(FrameProfiler.LEVEL) ;
+		profiler.begin(FrameProfiler.COLLISIONS) ;
 		testCollisions() ;
+		profiler.end(FrameProfiler.COLLISIONS) ;
+		profiler.begin(FrameProfiler.PHYSICS) ;
 		b2world.step(deltaTime, 8, 3) ;
+		profiler.end(FrameProfiler.PHYSICS) ;
+		profiler.begin(FrameProfiler.CAMERA) ;
 		cameraHelper.update(deltaTime) ;
+		profiler.end(FrameProfiler.CAMERA) ;
 		if(!isGameOver() && isPlayerInWater())
 		{
 			AudioManager.instance.play(Assets.instance.sounds.lifeLost) ;
@@ -180,10 +424,9 @@ public class WorldController extends InputAdapter implements Disposable
 			}
 			else
 			{
-				initLevel() ;
+				restartLevel() ;
 			}
 		}
-		level.mountains.updateScrollPosition(cameraHelper.getPosition()) ;
 
 		if(livesVisual > lives)
 		{
@@ -237,10 +480,10 @@ public class WorldController extends InputAdapter implements Disposable
 	@Override
 	public boolean keyUp (int keycode)
 	{
-		//Reset game world
+		//Reset game world, as a new session so it can be recorded
 		if (keycode == Keys.R)
 		{
-			init() ;
+			startSession() ;
 			Gdx.app.debug(TAG, "Game world was reset") ;
 		}
 		// Toggle camera follow
@@ -256,38 +499,26 @@ public class WorldController extends InputAdapter implements Disposable
 		return false ;
 	}
 
+	/**
+	 * Polls and records the controls every simulation step, also
+	 * while the camera is detached, so a recording has one entry
+	 * for each step that was played
+	 */
 	private void handleInputGame(float deltaTime)
 	{
-		if(cameraHelper.hasTarget(level.bunnyHead))
+		int buttons = inputSource.poll() ;
+		if(recording != null) recording.add(buttons) ;
+		// Player movement
+		if((buttons & InputSource.LEFT) != 0)
 		{
-			// Player movement
-			if(Gdx.input.isKeyPressed(Keys.LEFT))
-			{
-				level.bunnyHead.velocity.x = -level.bunnyHead.terminalVelocity.x ;
-			}
-			else if(Gdx.input.isKeyPressed(Keys.RIGHT))
-			{
-				level.bunnyHead.velocity.x = level.bunnyHead.terminalVelocity.x ;
-			}
-			else
-			{
-				// Execute auto-forward movement on non-desktop platform
-				if(Gdx.app.getType() != ApplicationType.Desktop)
-				{
-					level.bunnyHead.velocity.x =
-					level.bunnyHead.terminalVelocity.x ;
-				}
-			}
-			// Bunny Jump
-			if(Gdx.input.isTouched() || Gdx.input.isKeyPressed(Keys.SPACE))
-			{
-				level.bunnyHead.setJumping(true) ;
-			}
-			else
-			{
-				level.bunnyHead.setJumping(false) ;
-			}
+			level.bunnyHead.velocity.x = -level.bunnyHead.terminalVelocity.x ;
+		}
+		else if((buttons & InputSource.RIGHT) != 0)
+		{
+			level.bunnyHead.velocity.x = level.bunnyHead.terminalVelocity.x ;
 		}
+		// Bunny Jump
+		level.bunnyHead.setJumping((buttons & InputSource.JUMP) != 0) ;
 	}
 
 	private void onCollisionBunnyHeadWithRock(Rock rock)
@@ -324,31 +555,39 @@ public class WorldController extends InputAdapter implements Disposable
 		}
 	}
 
-	private void onCollisionBunnyWithGoldCoin(GoldCoin goldcoin)
+	private void onCollisionBunnyWithGoldCoin(int index)
 	{
-		goldcoin.collected = true ;
+		CollectibleStore goldcoins = level.goldcoins ;
+		goldcoins.collected[index] = true ;
 		AudioManager.instance.play(Assets.instance.sounds.pickupCoin) ;
-		score += goldcoin.getScore() ;
+		score += goldcoins.score ;
 		Gdx.app.log(TAG, "Gold coin collected") ;
 	}
 
-	private void onCollisionBunnyWithFeather(Feather feather)
+	private void onCollisionBunnyWithFeather(int index)
 	{
-		feather.collected = true ;
+		CollectibleStore feathers = level.feathers ;
+		feathers.collected[index] = true ;
 		AudioManager.instance.play(Assets.instance.sounds.pickupFeather) ;
-		score += feather.getScore() ;
+		score += feathers.score ;
 		level.bunnyHead.setFeatherPowerup(true) ;
 		Gdx.app.log(TAG, "Feather collected") ;
 	}
 
-	private void testCollisions()
+	/**
+	 * Tests the bunny against nearby objects. Package-private
+	 * so the benchmarks can time it on its own
+	 */
+	void testCollisions()
 	{
 		r1.set(level.bunnyHead.position.x, level.bunnyHead.position.y,
 				level.bunnyHead.bounds.width, level.bunnyHead.bounds.height) ;
 
 		// Test for collision: Bunny Head <-> Rocks
-		for(Rock rock : level.rocks)
+		level.rockGrid.query(r1.x, r1.y, r1.width, r1.height, nearby) ;
+		for(int i = 0; i < nearby.size; i++)
 		{
+			Rock rock = level.rocks.get(nearby.get(i)) ;
 			r2.set(rock.position.x, rock.position.y, rock.bounds.width,
 					rock.bounds.height) ;
 			if(!r1.overlaps(r2)) continue ;
@@ -358,24 +597,28 @@ public class WorldController extends InputAdapter implements Disposable
 		}
 
 		// Test collision: Bunny Head <-> Gold Coins
-		for(GoldCoin goldcoin : level.goldcoins)
+		CollectibleStore goldcoins = level.goldcoins ;
+		level.goldcoinGrid.query(r1.x, r1.y, r1.width, r1.height, nearby) ;
+		for(int i = 0; i < nearby.size; i++)
 		{
-			if(goldcoin.collected) continue ;
-			r2.set(goldcoin.position.x, goldcoin.position.y,
-					goldcoin.bounds.width, goldcoin.bounds.height) ;
+			int index = nearby.get(i) ;
+			if(goldcoins.collected[index]) continue ;
+			r2.set(goldcoins.x[index], goldcoins.y[index], goldcoins.width, goldcoins.height) ;
 			if(!r1.overlaps(r2)) continue ;
-			onCollisionBunnyWithGoldCoin(goldcoin) ;
+			onCollisionBunnyWithGoldCoin(index) ;
 			break ;
 		}
 
 		// Test collision: Bunny Head <-> Feathers
-		for(Feather feather : level.feathers)
+		CollectibleStore feathers = level.feathers ;
+		level.featherGrid.query(r1.x, r1.y, r1.width, r1.height, nearby) ;
+		for(int i = 0; i < nearby.size; i++)
 		{
-			if(feather.collected) continue ;
-			r2.set(feather.position.x, feather.position.y,
-					feather.bounds.width, feather.bounds.height) ;
+			int index = nearby.get(i) ;
+			if(feathers.collected[index]) continue ;
+			r2.set(feathers.x[index], feathers.y[index], feathers.width, feathers.height) ;
 			if(!r1.overlaps(r2)) continue ;
-			onCollisionBunnyWithFeather(feather) ;
+			onCollisionBunnyWithFeather(index) ;
 			break ;
 		}
 
@@ -414,46 +657,28 @@ public class WorldController extends InputAdapter implements Disposable
 	private void backToMenu()
 	{
 		// Switch to menu screen
-		game.setScreen(new MenuScreen(game)) ;
+		ScreenManager.instance.showMenu() ;
 	}
 
 	private void spawnCarrots(Vector2 pos, int numCarrots, float radius)
 	{
-		float carrotShapeScale = 0.5f ;
-		// Create carrots with box2d body fixture
+		// Wake up carrots from the pool
 		for(int i = 0; i < numCarrots; i++)
 		{
-			Carrot carrot = new Carrot() ;
-			// Calculate random spawn position, rotation, and scale
+			Carrot carrot = carrotPool.obtain() ;
+			// Calculate random spawn position and rotation
 			float x = MathUtils.random(-radius, radius) ;
 			float y = MathUtils.random(5.0f, 15.0f) ;
 			float rotation = MathUtils.random(0.0f, 360.0f) * MathUtils.degreesToRadians ;
-			float carrotScale = MathUtils.random(0.5f, 1.5f) ;
-			carrot.scale.set(carrotScale, carrotScale) ;
-			// Create box2d body for carrot with start position
-			// and angle of rotation
-			BodyDef bodyDef = new BodyDef() ;
-			bodyDef.position.set(pos) ;
-			bodyDef.position.add(x, y) ;
-			bodyDef.angle = rotation ;
-				Body body = b2world.createBody(bodyDef) ;
-			body.setType(BodyType.DynamicBody) ;
-			carrot.body = body ;
-			// Create rectangular shape for carrot to allow
-			// interactions (collisions) with other objects
-			PolygonShape polygonShape = new PolygonShape() ;
-			float halfWidth = carrot.bounds.width / 2.0f * carrotScale ;
-			float halfHeight = carrot.bounds.height / 2.0f * carrotScale ;
-			polygonShape.setAsBox(halfWidth * carrotShapeScale, halfHeight * carrotShapeScale) ;
-			// Set physics attributes
-			FixtureDef fixtureDef = new FixtureDef() ;
-			fixtureDef.shape = polygonShape ;
-			fixtureDef.density = 50 ;
-			fixtureDef.restitution = 0.5f ;
-			fixtureDef.friction = 0.5f ;
-			body.createFixture(fixtureDef) ;
-			polygonShape.dispose() ;
-			// Finally, add new carrot to list for updating/renderomg
+			// Move box2d body to start position and angle of rotation
+			Body body = carrot.body ;
+			body.setTransform(pos.x + x, pos.y + y, rotation) ;
+			body.setLinearVelocity(0, 0) ;
+			body.setAngularVelocity(0) ;
+			body.setActive(true) ;
+			carrot.position.set(body.getPosition()) ;
+			carrot.storePreviousPosition() ;
+			// Finally, add carrot to list for updating/rendering
 			level.carrots.add(carrot) ;
 		}
 	}
@@ -462,13 +687,15 @@ public class WorldController extends InputAdapter implements Disposable
 	{
 		goalReached = true ;
 		timeLeftGameOverDelay = Constants.TIME_DELAY_GAME_FINISHED ;
-		Vector2 centerPosBunnyHead = new Vector2(level.bunnyHead.position) ;
+		centerPosBunnyHead.set(level.bunnyHead.position) ;
 		centerPosBunnyHead.x += level.bunnyHead.bounds.width ;
 		spawnCarrots(centerPosBunnyHead, Constants.CARROTS_SPAWN_MAX, Constants.CARROTS_SPAWN_RADIUS) ;
 	}
 
 	public void dispose()
 	{
+		level.bunnyHead.freeParticles() ;
+		if(polygonShape != null) polygonShape.dispose() ;
 		if(b2world != null) b2world.dispose() ;
 	}
 }
@@ -11,14 +11,21 @@ package com.billyharrisongdx.game.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera ;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType ;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Disposable ;
+import com.billyharrisongdx.game.util.CachedText ;
 import com.billyharrisongdx.game.util.Constants ;
+import com.billyharrisongdx.game.util.FrameProfiler ;
 import com.badlogic.gdx.graphics.g2d.Sprite ;
 import com.badlogic.gdx.graphics.g2d.BitmapFont ;
 import com.badlogic.gdx.utils.Align ;
 import com.billyharrisongdx.game.util.GamePreferences ;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer ;
+import com.badlogic.gdx.math.Rectangle ;
+import com.badlogic.gdx.math.Vector2 ;
+import com.badlogic.gdx.math.Vector3 ;
 
 public class WorldRenderer {
 
@@ -32,6 +39,19 @@ public class WorldRenderer {
 	private WorldController worldController ;
 	private static final boolean DEBUG_DRAW_BOX2D_WORLD = false ;
 	private Box2DDebugRenderer b2debugRenderer ;
+	// Draw mountains and rocks from vertices kept on the graphics card
+	private static final boolean USE_STATIC_GEOMETRY_CACHE = true ;
+	private StaticGeometryCache staticCache ;
+	// Visible area of the world used to skip off-screen objects
+	private Rectangle viewBounds = new Rectangle() ;
+	private Vector2 cameraPosition = new Vector2() ;
+	// GUI numbers, only laid out again when they change
+	private CachedText scoreText ;
+	private CachedText featherText ;
+	private CachedText fpsText ;
+	private CachedText cullingText ;
+	// Created the first time the profiler is shown
+	private ShapeRenderer shapeRenderer ;
 
 	/**
 	 * sets this renderer's worldController and initiates the renderer
@@ -57,6 +77,14 @@ public class WorldRenderer {
 		cameraGUI.setToOrtho(true) ; // flip y-axis
 		cameraGUI.update() ;
 		b2debugRenderer = new Box2DDebugRenderer() ;
+		scoreText = new CachedText(Assets.instance.fonts.defaultBig, Align.left) ;
+		featherText = new CachedText(Assets.instance.fonts.defaultSmall, Align.left) ;
+		fpsText = new CachedText(Assets.instance.fonts.defaultNormal, Align.left) ;
+		cullingText = new CachedText(Assets.instance.fonts.defaultNormal, Align.right) ;
+		if(USE_STATIC_GEOMETRY_CACHE)
+		{
+			staticCache = new StaticGeometryCache() ;
+		}
 	}
 
 	/**
@@ -64,8 +92,38 @@ public class WorldRenderer {
 	 */
 	public void render()
 	{
+		FrameProfiler profiler = FrameProfiler.instance ;
+		profiler.begin(FrameProfiler.RENDER_WORLD) ;
 		renderWorld(batch) ;
+		profiler.end(FrameProfiler.RENDER_WORLD) ;
+		profiler.begin(FrameProfiler.RENDER_GUI) ;
 		renderGui(batch) ;
+		profiler.end(FrameProfiler.RENDER_GUI) ;
+		if(profiler.isEnabled())
+		{
+			renderProfiler(batch) ;
+		}
+	}
+
+	/**
+	 * Draws the profiler numbers (anchored to top left edge)
+	 * and the frame time graph (anchored to bottom left edge)
+	 */
+	private void renderProfiler(SpriteBatch batch)
+	{
+		if(shapeRenderer == null)
+		{
+			shapeRenderer = new ShapeRenderer() ;
+		}
+		shapeRenderer.setProjectionMatrix(cameraGUI.combined) ;
+		shapeRenderer.begin(ShapeType.Filled) ;
+		FrameProfiler.instance.renderGraph(shapeRenderer, 10, cameraGUI.viewportHeight - 10, 300, 60) ;
+		shapeRenderer.end() ;
+
+		batch.setProjectionMatrix(cameraGUI.combined) ;
+		batch.begin() ;
+		FrameProfiler.instance.renderText(batch, Assets.instance.fonts.defaultSmall, 10, 100) ;
+		batch.end() ;
 	}
 
 	/**
@@ -74,17 +132,49 @@ public class WorldRenderer {
 	 */
 	private void renderWorld(SpriteBatch batch)
 	{
-		worldController.cameraHelper.applyTo(camera) ;
+		// Draw in between the last two simulation steps
+		float alpha = worldController.getInterpolationAlpha() ;
+		worldController.cameraHelper.applyTo(camera, alpha) ;
+		updateViewBounds() ;
+		Level level = worldController.level ;
+		if(staticCache != null && !staticCache.isBuiltFor(level))
+		{
+			// New level loaded, cache its geometry
+			staticCache.build(level) ;
+		}
+		cameraPosition.set(camera.position.x, camera.position.y) ;
+		level.mountains.updateScrollPosition(cameraPosition) ;
+		level.beginInterpolation(alpha) ;
+		if(staticCache != null)
+		{
+			// Cached background and goal first, so the batch is started once
+			level.renderStatic(staticCache, camera.combined, viewBounds) ;
+		}
 		batch.setProjectionMatrix(camera.combined) ;
 		batch.begin() ;
-		worldController.level.render(batch) ;
+		level.render(batch, viewBounds, staticCache) ;
 		batch.end() ;
+		FrameProfiler.instance.addRenderCalls(batch.renderCalls) ;
+		level.endInterpolation() ;
 		if(DEBUG_DRAW_BOX2D_WORLD)
 		{
 			b2debugRenderer.render(worldController.b2world, camera.combined) ;
 		}
 	}
 
+	/**
+	 * Takes the area covered by the camera frustum and
+	 * adds the culling margin on every side
+	 */
+	private void updateViewBounds()
+	{
+		Vector3 bottomLeft = camera.frustum.planePoints[0] ;
+		Vector3 topRight = camera.frustum.planePoints[2] ;
+		float margin = Constants.CULLING_MARGIN ;
+		viewBounds.set(bottomLeft.x - margin, bottomLeft.y - margin,
+			topRight.x - bottomLeft.x + margin * 2, topRight.y - bottomLeft.y + margin * 2) ;
+	}
+
 	/**
 	 * Alters size of the view port
 	 */
@@ -118,7 +208,8 @@ public class WorldRenderer {
 		}
 
 		batch.draw(Assets.instance.goldCoin.goldCoin, x, y, offsetX, offsetY, 100, 100, 0.35f, -0.35f, 0) ;
-		Assets.instance.fonts.defaultBig.draw(batch, "" + (int)worldController.scoreVisual, x + 75, y + 37) ;
+		scoreText.setNumber("", (int)worldController.scoreVisual) ;
+		scoreText.draw(batch, x + 75, y + 37) ;
 	}
 
 	/**
@@ -159,24 +250,28 @@ public class WorldRenderer {
 		float x = cameraGUI.viewportWidth - 55 ;
 		float y = cameraGUI.viewportHeight - 15 ;
 		int fps = Gdx.graphics.getFramesPerSecond() ;
-		BitmapFont fpsFont = Assets.instance.fonts.defaultNormal ;
 		if(fps >= 45)
 		{
 			// 45 or more FPS show up in green
-			fpsFont.setColor(0, 1, 0, 1) ;
+			fpsText.setColor(0, 1, 0, 1) ;
 		}
 		else if(fps >= 30)
 		{
 			// 30 or more FPS show up in yellow
-			fpsFont.setColor(1, 1, 0, 1) ;
+			fpsText.setColor(1, 1, 0, 1) ;
 		}
 		else
 		{
 			// Less than 30 FPS show up in red
-			fpsFont.setColor(1, 0, 0, 1) ;
+			fpsText.setColor(1, 0, 0, 1) ;
 		}
-		fpsFont.draw(batch, "FPS: " + fps, x, y) ;
-		fpsFont.setColor(1, 1, 1, 1) ; // White
+		fpsText.setNumber("FPS: ", fps) ;
+		fpsText.draw(batch, x, y) ;
+
+		// Objects drawn and skipped by culling in the last frame
+		Level level = worldController.level ;
+		cullingText.setNumbers("Drawn: ", level.objectsSubmitted, " Culled: ", level.objectsCulled) ;
+		cullingText.draw(batch, cameraGUI.viewportWidth - 15, y - 20) ;
 	}
 
 	/**
@@ -204,6 +299,7 @@ public class WorldRenderer {
 		renderGuiGameOverMessage(batch) ;
 
 		batch.end() ;
+		FrameProfiler.instance.addRenderCalls(batch.renderCalls) ;
 	}
 
 	/**
@@ -246,7 +342,8 @@ public class WorldRenderer {
 			}
 			batch.draw(Assets.instance.feather.feather, x, y, 50, 50, 100, 100, 0.35f, -0.35f, 0) ;
 			batch.setColor(1, 1, 1, 1) ;
-			Assets.instance.fonts.defaultSmall.draw(batch, "" + (int)timeLeftFeatherPowerup, x + 60, y + 57) ;
+			featherText.setNumber("", (int)timeLeftFeatherPowerup) ;
+			featherText.draw(batch, x + 60, y + 57) ;
 		}
 	}
 
@@ -256,5 +353,13 @@ public class WorldRenderer {
 	public void dispose()
 	{
 		batch.dispose() ;
+		if(shapeRenderer != null)
+		{
+			shapeRenderer.dispose() ;
+		}
+		if(staticCache != null)
+		{
+			staticCache.dispose() ;
+		}
 	}
 }
\ No newline at end of file
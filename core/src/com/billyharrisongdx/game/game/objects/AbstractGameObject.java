@@ -47,6 +47,13 @@ public abstract class AbstractGameObject
 	public Vector2 acceleration ;
 	public Rectangle bounds ;
 
+	/**
+	 * Position at the start of the last simulation step and the
+	 * simulated position kept aside while drawing in between steps
+	 */
+	public Vector2 previousPosition ;
+	private Vector2 simulatedPosition ;
+
 	/**
 	 * Initializes all object variables
 	 */
@@ -62,6 +69,35 @@ public abstract class AbstractGameObject
 		friction = new Vector2() ;
 		acceleration = new Vector2() ;
 		bounds = new Rectangle() ;
+		previousPosition = new Vector2() ;
+		simulatedPosition = new Vector2() ;
+	}
+
+	/**
+	 * Remembers the position before a simulation step
+	 */
+	public void storePreviousPosition()
+	{
+		previousPosition.set(position) ;
+	}
+
+	/**
+	 * Moves the object between its previous and simulated position
+	 * for drawing. Must be followed by endInterpolation()
+	 * @param alpha fraction of the next step that has passed
+	 */
+	public void beginInterpolation(float alpha)
+	{
+		simulatedPosition.set(position) ;
+		position.set(previousPosition).lerp(simulatedPosition, alpha) ;
+	}
+
+	/**
+	 * Puts the object back at its simulated position
+	 */
+	public void endInterpolation()
+	{
+		position.set(simulatedPosition) ;
 	}
 
 	/**
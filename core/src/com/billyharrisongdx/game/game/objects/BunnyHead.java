@@ -8,15 +8,13 @@
 
 package com.billyharrisongdx.game.game.objects;
 
-import com.badlogic.gdx.Gdx ;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
 import com.badlogic.gdx.graphics.g2d.TextureRegion ;
 import com.billyharrisongdx.game.game.Assets ;
 import com.billyharrisongdx.game.util.Constants ;
 import com.billyharrisongdx.game.util.CharacterSkin ;
 import com.billyharrisongdx.game.util.GamePreferences ;
-import com.badlogic.gdx.Gdx ;
-import com.badlogic.gdx.graphics.g2d.ParticleEffect ;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect ;
 import com.badlogic.gdx.math.MathUtils ;
 import com.billyharrisongdx.game.util.AudioManager ;
 import com.badlogic.gdx.graphics.g2d.Animation ;
@@ -64,16 +62,19 @@ public class BunnyHead extends AbstractGameObject
 	public JUMP_STATE jumpState ;
 	public boolean hasFeatherPowerup ;
 	public float timeLeftFeatherPowerup ;
-	public ParticleEffect dustParticles = new ParticleEffect() ;
+	public PooledEffect dustParticles ;
 
 	public BunnyHead()
 	{
+		// Particles, a copy of the effect loaded with the assets
+		dustParticles = Assets.instance.particles.dust.obtain() ;
 		init() ;
 	}
 
 	/**
 	 * Initializes all variables to starting points
 	 * starting direction, power-up disabled, starting speed, etc.
+	 * Also used to reset the bunny on respawn
 	 */
 	public void init()
 	{
@@ -91,6 +92,7 @@ public class BunnyHead extends AbstractGameObject
 		// Bounding box for collision detection
 		bounds.set(0, 0, dimension.x, dimension.y) ;
 		// Set physics values
+		velocity.set(0.0f, 0.0f) ;
 		terminalVelocity.set(3.0f, 4.0f) ;
 		friction.set(12.0f, 0.0f) ;
 		acceleration.set(0.0f, -25.0f) ;
@@ -103,8 +105,18 @@ public class BunnyHead extends AbstractGameObject
 		hasFeatherPowerup = false ;
 		timeLeftFeatherPowerup = 0 ;
 
-		// Particles
-		dustParticles.load(Gdx.files.internal("../core/assets/particles/dust.part"), Gdx.files.internal("particles")) ;
+		// Stop any dust left over from a previous life
+		dustParticles.reset() ;
+		dustParticles.allowCompletion() ;
+	}
+
+	/**
+	 * Gives the dust effect back to its pool, the bunny must not
+	 * be used afterwards
+	 */
+	public void freeParticles()
+	{
+		dustParticles.free() ;
 	}
 
 	/**
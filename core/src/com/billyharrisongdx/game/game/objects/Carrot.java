@@ -9,9 +9,10 @@ package com.billyharrisongdx.game.game.objects;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
 import com.badlogic.gdx.graphics.g2d.TextureRegion ;
+import com.badlogic.gdx.utils.Pool.Poolable ;
 import com.billyharrisongdx.game.game.Assets ;
 
-public class Carrot extends AbstractGameObject
+public class Carrot extends AbstractGameObject implements Poolable
 {
 	private TextureRegion regCarrot ;
 
@@ -31,6 +32,20 @@ public class Carrot extends AbstractGameObject
 		origin.set(dimension.x / 2, dimension.y / 2) ;
 	}
 
+	/**
+	 * Puts the carrot to sleep when it goes back to its pool
+	 */
+	@Override
+	public void reset()
+	{
+		if(body != null)
+		{
+			body.setActive(false) ;
+		}
+		velocity.set(0, 0) ;
+		rotation = 0 ;
+	}
+
 	public void render(SpriteBatch batch)
 	{
 		TextureRegion reg = null ;
@@ -0,0 +1,149 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/30/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.game.objects;
+
+import java.util.Arrays ;
+
+import com.badlogic.gdx.graphics.g2d.Animation ;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
+import com.badlogic.gdx.graphics.g2d.TextureRegion ;
+import com.badlogic.gdx.utils.IntArray ;
+import com.billyharrisongdx.game.game.Assets ;
+import com.billyharrisongdx.game.util.AnimationClock ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * All gold coins or all feathers of a level. Instead of one game
+ * object per item, their positions, collected flags and animation
+ * phases are kept in plain arrays indexed by item, so the render
+ * and collision loops read memory in order. Items of one store
+ * share their size, image, animation clock and score
+ */
+public class CollectibleStore
+{
+	private static final int INITIAL_CAPACITY = 16 ;
+
+	// Size of every item, also its bounding box for collisions
+	public final float width ;
+	public final float height ;
+	// Points for collecting one item
+	public final int score ;
+
+	// Animated items use the clock, still ones the region
+	public final AnimationClock clock ;
+	private final TextureRegion region ;
+
+	/**
+	 * One entry per item: bottom left corner, whether it was
+	 * collected and its phase bucket of the animation clock
+	 */
+	public int size ;
+	public float[] x ;
+	public float[] y ;
+	public boolean[] collected ;
+	public byte[] phaseBuckets ;
+
+	/**
+	 * Spinning gold coins worth 100 points
+	 */
+	public static CollectibleStore createGoldCoins()
+	{
+		return new CollectibleStore(Assets.instance.goldCoin.animGoldCoin, null, 0.5f, 0.5f, 100) ;
+	}
+
+	/**
+	 * Feathers worth 250 points, they give the bunny its power-up
+	 */
+	public static CollectibleStore createFeathers()
+	{
+		return new CollectibleStore(null, Assets.instance.feather.feather, 0.5f, 0.5f, 250) ;
+	}
+
+	private CollectibleStore(Animation animation, TextureRegion region, float width, float height, int score)
+	{
+		clock = animation != null ? new AnimationClock(animation, Constants.ANIMATION_PHASE_BUCKETS) : null ;
+		this.region = region ;
+		this.width = width ;
+		this.height = height ;
+		this.score = score ;
+		x = new float[INITIAL_CAPACITY] ;
+		y = new float[INITIAL_CAPACITY] ;
+		collected = new boolean[INITIAL_CAPACITY] ;
+		phaseBuckets = new byte[INITIAL_CAPACITY] ;
+	}
+
+	/**
+	 * Adds an item with its bottom left corner at x/y and returns
+	 * its index. Animated items get a random phase so they do not
+	 * all move together
+	 */
+	public int add(float x, float y)
+	{
+		if(size == this.x.length)
+		{
+			int capacity = size * 2 ;
+			this.x = Arrays.copyOf(this.x, capacity) ;
+			this.y = Arrays.copyOf(this.y, capacity) ;
+			collected = Arrays.copyOf(collected, capacity) ;
+			phaseBuckets = Arrays.copyOf(phaseBuckets, capacity) ;
+		}
+		this.x[size] = x ;
+		this.y[size] = y ;
+		collected[size] = false ;
+		phaseBuckets[size] = (byte) (clock != null ? clock.randomBucket() : 0) ;
+		return size++ ;
+	}
+
+	/**
+	 * Advances the animation of every item at once
+	 */
+	public void update(float deltaTime)
+	{
+		if(clock != null)
+		{
+			clock.update(deltaTime) ;
+		}
+	}
+
+	/**
+	 * Draws the listed items that were not collected yet and
+	 * returns how many were drawn
+	 */
+	public int render(SpriteBatch batch, IntArray indices)
+	{
+		int drawn = 0 ;
+		for(int i = 0; i < indices.size; i++)
+		{
+			int index = indices.get(i) ;
+			if(collected[index]) continue ;
+			TextureRegion reg = clock != null ? clock.getKeyFrame(phaseBuckets[index]) : region ;
+			batch.draw(reg, x[index], y[index], width, height) ;
+			drawn++ ;
+		}
+		return drawn ;
+	}
+
+	public int countCollected()
+	{
+		int count = 0 ;
+		for(int i = 0; i < size; i++)
+		{
+			if(collected[i]) count++ ;
+		}
+		return count ;
+	}
+
+	/**
+	 * Makes every item collectable again
+	 */
+	public void resetCollected()
+	{
+		Arrays.fill(collected, 0, size, false) ;
+	}
+}
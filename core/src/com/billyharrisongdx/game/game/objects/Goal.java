@@ -8,6 +8,7 @@
 package com.billyharrisongdx.game.game.objects;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
+import com.badlogic.gdx.graphics.g2d.SpriteCache ;
 import com.badlogic.gdx.graphics.g2d.TextureRegion ;
 import com.billyharrisongdx.game.game.Assets ;
 
@@ -39,6 +40,17 @@ public class Goal extends AbstractGameObject
 				origin.y, dimension.x, dimension.y, scale.x, scale.y,rotation, reg.getRegionX(),
 				reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false) ;
 	}
+
+	/**
+	 * Adds the goal to a sprite cache. Same layout as render()
+	 */
+	public void addToCache(SpriteCache cache)
+	{
+		TextureRegion reg = regGoal ;
+		cache.add(reg.getTexture(), position.x - origin.x, position.y - origin.y, origin.x,
+				origin.y, dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(),
+				reg.getRegionY(), reg.getRegionWidth(), reg.getRegionHeight(), false, false) ;
+	}
 }
 
 
@@ -9,6 +9,7 @@
 package com.billyharrisongdx.game.game.objects;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch ;
+import com.badlogic.gdx.graphics.g2d.SpriteCache ;
 import com.badlogic.gdx.graphics.g2d.TextureRegion ;
 import com.badlogic.gdx.math.MathUtils ;
 import com.billyharrisongdx.game.game.Assets ;
@@ -26,6 +27,17 @@ public class Mountains extends AbstractGameObject
 
 	private int length ; // length of mountain range on screen
 
+	// Parallax layers from back to front: offset, gray tint and
+	// how much of the camera movement they follow
+	private static final float[] LAYER_OFFSET = { 0.5f, 0.25f, 0.0f } ;
+	private static final float[] LAYER_TINT = { 0.5f, 0.7f, 0.9f } ;
+	private static final float[] LAYER_PARALLAX = { 0.8f, 0.5f, 0.3f } ;
+
+	// World x range to draw, the whole range until it is set
+	private float visibleLeft ;
+	private float visibleRight ;
+	private boolean hasVisibleRange ;
+
 	public Mountains(int length)
 	{
 		this.length = length ;
@@ -46,31 +58,27 @@ public class Mountains extends AbstractGameObject
 
 	/**
 	 * Draws mountains by alternating the left and right mountain images
-	 * to stretch across the screen
+	 * to stretch across the screen. Only the images inside the visible
+	 * range are drawn
 	 * @param batch
-	 * @param offsetX
-	 * @param offsetY
-	 * @param tintColor
+	 * @param layer
 	 */
-	private void drawMountain(SpriteBatch batch, float offsetX, float offsetY, float tintColor, float parallaxSpeedX)
+	private void drawMountain(SpriteBatch batch, int layer)
 	{
 		TextureRegion reg = null ;
+		float tintColor = LAYER_TINT[layer] ;
 		batch.setColor(tintColor, tintColor, tintColor, 1) ;
-		float xRel = dimension.x * offsetX ;
-		float yRel = dimension.y * offsetY ;
-
-		// mountains span the whole level
-		int mountainLength = 0 ;
+		float yRel = dimension.y * LAYER_OFFSET[layer] ;
 
-
-		mountainLength += MathUtils.ceil(length / (2 * dimension.x) * (1 - parallaxSpeedX)) ;
-		mountainLength += MathUtils.ceil(0.5f + offsetX) ;
-		for(int i = 0; i < mountainLength; i++)
+		int first = getFirstVisibleImage(layer) ;
+		int count = getVisibleImageCount(layer) ;
+		float xRel = dimension.x * LAYER_OFFSET[layer] + first * dimension.x ;
+		for(int i = first; i < first + count; i++)
 		{
-			// Mountain left
-			reg = regMountainLeft ;
+			// Alternate left and right mountain
+			reg = i % 2 == 0 ? regMountainLeft : regMountainRight ;
 			batch.draw(reg.getTexture(),
-			origin.x + xRel + position.x * parallaxSpeedX,
+			origin.x + xRel + getLayerScrollX(layer),
 			position.y + origin.y + yRel,
 			origin.x, origin.y,
 			dimension.x, dimension.y,
@@ -80,11 +88,109 @@ public class Mountains extends AbstractGameObject
 			reg.getRegionWidth(), reg.getRegionHeight(),
 			false, false) ;
 			xRel += dimension.x ;
+		}
+		// Reset color to white
+		batch.setColor(1, 1, 1, 1) ;
+	}
 
-			// Mountain right
-			reg = regMountainRight ;
-			batch.draw(reg.getTexture(),
-			origin.x + xRel + position.x * parallaxSpeedX,
+	/**
+	 * Limits drawing to the images overlapping the given world
+	 * x range, usually the area seen by the camera
+	 */
+	public void setVisibleRange(float left, float right)
+	{
+		visibleLeft = left ;
+		visibleRight = right ;
+		hasVisibleRange = true ;
+	}
+
+	/**
+	 * Returns the index of the first image of a layer inside the
+	 * visible range
+	 */
+	public int getFirstVisibleImage(int layer)
+	{
+		if(!hasVisibleRange) return 0 ;
+		float start = getLayerStartX(layer) ;
+		int first = MathUtils.floor((visibleLeft - start) / dimension.x) ;
+		return MathUtils.clamp(first, 0, getLayerImageCount(layer)) ;
+	}
+
+	/**
+	 * Returns how many images of a layer are inside the visible range
+	 */
+	public int getVisibleImageCount(int layer)
+	{
+		int imageCount = getLayerImageCount(layer) ;
+		if(!hasVisibleRange) return imageCount ;
+		float start = getLayerStartX(layer) ;
+		int end = MathUtils.ceil((visibleRight - start) / dimension.x) ;
+		end = MathUtils.clamp(end, 0, imageCount) ;
+		return Math.max(0, end - getFirstVisibleImage(layer)) ;
+	}
+
+	/**
+	 * World x position of the left side of the first image of a layer
+	 */
+	private float getLayerStartX(int layer)
+	{
+		return origin.x + dimension.x * LAYER_OFFSET[layer] + getLayerScrollX(layer) ;
+	}
+
+	/**
+	 * Number of left/right mountain pairs needed to span the level
+	 */
+	private int getMountainLength(float offsetX, float parallaxSpeedX)
+	{
+		int mountainLength = 0 ;
+		mountainLength += MathUtils.ceil(length / (2 * dimension.x) * (1 - parallaxSpeedX)) ;
+		mountainLength += MathUtils.ceil(0.5f + offsetX) ;
+		return mountainLength ;
+	}
+
+	/**
+	 * Returns the number of parallax layers
+	 */
+	public int getLayerCount()
+	{
+		return LAYER_PARALLAX.length ;
+	}
+
+	/**
+	 * Returns the number of images in a layer
+	 */
+	public int getLayerImageCount(int layer)
+	{
+		return getMountainLength(LAYER_OFFSET[layer], LAYER_PARALLAX[layer]) * 2 ;
+	}
+
+	/**
+	 * Returns how far a layer is currently shifted by the camera
+	 */
+	public float getLayerScrollX(int layer)
+	{
+		return position.x * LAYER_PARALLAX[layer] ;
+	}
+
+	/**
+	 * Adds the images of a layer to a sprite cache as if the
+	 * camera was at x = 0. Use getLayerScrollX() to move the
+	 * cached layer when drawing
+	 */
+	public void addLayerToCache(SpriteCache cache, int layer)
+	{
+		TextureRegion reg = null ;
+		float tintColor = LAYER_TINT[layer] ;
+		cache.setColor(tintColor, tintColor, tintColor, 1) ;
+		float xRel = dimension.x * LAYER_OFFSET[layer] ;
+		float yRel = dimension.y * LAYER_OFFSET[layer] ;
+		int imageCount = getLayerImageCount(layer) ;
+		for(int i = 0; i < imageCount; i++)
+		{
+			// Alternate left and right mountain
+			reg = i % 2 == 0 ? regMountainLeft : regMountainRight ;
+			cache.add(reg.getTexture(),
+			origin.x + xRel,
 			position.y + origin.y + yRel,
 			origin.x, origin.y,
 			dimension.x, dimension.y,
@@ -96,18 +202,18 @@ public class Mountains extends AbstractGameObject
 			xRel += dimension.x ;
 		}
 		// Reset color to white
-		batch.setColor(1, 1, 1, 1) ;
+		cache.setColor(1, 1, 1, 1) ;
 	}
 
 	@Override
 	public void render(SpriteBatch batch)
 	{
-		// 80% Distant mountains (dark gray)
-		drawMountain(batch, 0.5f, 0.5f, 0.5f, 0.8f) ;
-		// 50% Distant mountains (gray)
-		drawMountain(batch, 0.25f, 0.25f, 0.7f, 0.5f) ;
-		// 30% Distant mountains (light gray)
-		drawMountain(batch, 0.0f, 0.0f, 0.9f, 0.3f) ;
+		// 80% Distant mountains (dark gray), 50% distant mountains (gray)
+		// and 30% distant mountains (light gray)
+		for(int layer = 0; layer < LAYER_PARALLAX.length; layer++)
+		{
+			drawMountain(batch, layer) ;
+		}
 	}
 
 	public void updateScrollPosition(Vector2 camPosition)
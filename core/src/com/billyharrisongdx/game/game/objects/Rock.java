@@ -46,7 +46,7 @@ public class Rock extends AbstractGameObject
 		setLength(1) ;
 
 		floatingDownwards = false ;
-		floatCycleTimeLeft = MathUtils.random(0, FLOAT_CYCLE_TIME / 2) ;
+		floatCycleTimeLeft = randomFloatCycleTime() ;
 		floatTargetPosition = null ;
 	}
 
@@ -70,6 +70,34 @@ public class Rock extends AbstractGameObject
 		setLength(length + amount) ;
 	}
 
+	/**
+	 * Returns the time left until the floating direction changes
+	 */
+	public float getFloatCycleTimeLeft()
+	{
+		return floatCycleTimeLeft ;
+	}
+
+	/**
+	 * Returns a random start time for the floating cycle, so
+	 * the rocks do not all move together
+	 */
+	public float randomFloatCycleTime()
+	{
+		return MathUtils.random(0, FLOAT_CYCLE_TIME / 2) ;
+	}
+
+	/**
+	 * Restarts the floating motion with the given cycle time
+	 * @param cycleTimeLeft
+	 */
+	public void resetFloating(float cycleTimeLeft)
+	{
+		floatCycleTimeLeft = cycleTimeLeft ;
+		floatingDownwards = false ;
+		floatTargetPosition = null ;
+	}
+
 	/**
 	 * Implementation of AbstractGameObject render method
 	 */
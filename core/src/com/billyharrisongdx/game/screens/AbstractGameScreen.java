@@ -10,7 +10,6 @@ package com.billyharrisongdx.game.screens;
 
 import com.badlogic.gdx.Game ;
 import com.badlogic.gdx.Screen ;
-import com.badlogic.gdx.assets.AssetManager ;
 import com.billyharrisongdx.game.game.Assets ;
 
 public abstract class AbstractGameScreen implements Screen
@@ -32,12 +31,15 @@ public abstract class AbstractGameScreen implements Screen
 
 		public void resume()
 		{
-			Assets.instance.init(new AssetManager()) ;
+			Assets.instance.onResume() ;
 		}
 
+		/**
+		 * Releases the screen's own resources. The shared assets
+		 * are disposed by the game when it exits
+		 */
 		public void dispose()
 		{
-			Assets.instance.dispose() ;
 		}
 
 
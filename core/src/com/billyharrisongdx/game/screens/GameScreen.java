@@ -8,11 +8,22 @@
 
 package com.billyharrisongdx.game.screens;
 
+import java.util.concurrent.ExecutorService ;
+import java.util.concurrent.Executors ;
+import java.util.concurrent.ThreadFactory ;
+import java.util.concurrent.TimeUnit ;
+
 import com.badlogic.gdx.Game ;
 import com.badlogic.gdx.Gdx ;
 import com.badlogic.gdx.graphics.GL20 ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.billyharrisongdx.game.game.InputRecording ;
+import com.billyharrisongdx.game.game.KeyboardInput ;
+import com.billyharrisongdx.game.game.ReplayInput ;
 import com.billyharrisongdx.game.game.WorldController ;
 import com.billyharrisongdx.game.game.WorldRenderer ;
+import com.billyharrisongdx.game.util.Constants ;
+import com.billyharrisongdx.game.util.FrameProfiler ;
 import com.billyharrisongdx.game.util.GamePreferences ;
 
 public class GameScreen extends AbstractGameScreen
@@ -24,6 +35,14 @@ public class GameScreen extends AbstractGameScreen
 
 	private boolean paused ;
 
+	private final KeyboardInput keyboardInput = new KeyboardInput() ;
+	// Recording to play back instead of the keyboard, once
+	private InputRecording replay ;
+	// Whether the input of sessions is saved when they end
+	private boolean recordSessions ;
+	// Saves recordings off the render thread, created when needed
+	private ExecutorService recordingWriter ;
+
 	public GameScreen(Game game)
 	{
 		super(game) ;
@@ -32,6 +51,7 @@ public class GameScreen extends AbstractGameScreen
 	@Override
 	public void render(float deltaTime)
 	{
+		FrameProfiler.instance.beginFrame() ;
 		// Do not update game world when paused
 		if(!paused)
 		{
@@ -45,6 +65,7 @@ public class GameScreen extends AbstractGameScreen
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT) ;
 		// Render game world to screen
 		worldRenderer.render() ;
+		FrameProfiler.instance.endFrame(deltaTime) ;
 	}
 
 	@Override
@@ -53,22 +74,106 @@ public class GameScreen extends AbstractGameScreen
 		worldRenderer.resize(width, height) ;
 	}
 
-	@Override
-	public void show()
+	/**
+	 * Loads the level and game world if that did not happen yet
+	 */
+	public void prepare()
 	{
-		GamePreferences.instance.load() ;
+		if(worldController != null) return ;
 		worldController = new WorldController(game) ;
 		worldRenderer = new WorldRenderer(worldController) ;
+	}
+
+	/**
+	 * Plays the recording the next time the screen is shown
+	 */
+	public void setReplay(InputRecording replay)
+	{
+		this.replay = replay ;
+	}
+
+	/**
+	 * Saves the input of every session to REPLAY_LAST_SESSION
+	 */
+	public void setRecordSessions(boolean recordSessions)
+	{
+		this.recordSessions = recordSessions ;
+	}
+
+	/**
+	 * The world is kept between sessions and only reset here
+	 */
+	@Override
+	public void show()
+	{
+		prepare() ;
+		if(replay != null)
+		{
+			if(!replay.levelFilename.equals(worldController.level.filename))
+			{
+				Gdx.app.error(TAG, "Replay was recorded on '" + replay.levelFilename + "'") ;
+			}
+			worldController.setInputSource(new ReplayInput(replay)) ;
+			worldController.setRecordSessions(false) ;
+			worldController.startSession(replay.seed) ;
+			replay = null ;
+		}
+		else
+		{
+			worldController.setInputSource(keyboardInput) ;
+			worldController.setRecordSessions(recordSessions) ;
+			worldController.startSession() ;
+		}
+		FrameProfiler.instance.setEnabled(GamePreferences.instance.showProfiler) ;
+		paused = false ;
 		Gdx.input.setCatchBackKey(true) ;
 	}
 
 	@Override
 	public void hide()
 	{
-		Gdx.app.postRunnable(() ->{
-		worldRenderer.dispose() ;
-		worldController.dispose() ;
+		InputRecording recording = worldController.getRecording() ;
+		if(recording != null)
+		{
+			saveRecording(recording) ;
+			worldController.setRecordSessions(false) ;
+		}
 		Gdx.input.setCatchBackKey(false) ;
+		FrameProfiler.instance.setEnabled(false) ;
+	}
+
+	/**
+	 * Writes the recording on the writer thread
+	 */
+	private void saveRecording(final InputRecording recording)
+	{
+		if(recordingWriter == null)
+		{
+			recordingWriter = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable r)
+				{
+					Thread thread = new Thread(r, "GameScreen-RecordingWriter") ;
+					thread.setDaemon(true) ;
+					return thread ;
+				}
+			}) ;
+		}
+		recordingWriter.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					recording.write(Gdx.files.local(Constants.REPLAY_LAST_SESSION)) ;
+				}
+				catch(GdxRuntimeException ex)
+				{
+					Gdx.app.error(TAG, "Couldn't save recording", ex) ;
+				}
+			}
 		}) ;
 	}
 
@@ -85,4 +190,29 @@ public class GameScreen extends AbstractGameScreen
 		// Only called on Android?
 		paused = false ;
 	}
+
+	@Override
+	public void dispose()
+	{
+		if(worldController != null)
+		{
+			worldRenderer.dispose() ;
+			worldController.dispose() ;
+		}
+		if(recordingWriter != null)
+		{
+			// Let the recording of the last session finish writing
+			recordingWriter.shutdown() ;
+			try
+			{
+				recordingWriter.awaitTermination(5, TimeUnit.SECONDS) ;
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt() ;
+			}
+			recordingWriter = null ;
+		}
+		super.dispose() ;
+	}
 }
\ No newline at end of file
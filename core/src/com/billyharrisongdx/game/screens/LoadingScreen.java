@@ -0,0 +1,105 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/23/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.screens;
+
+import com.badlogic.gdx.Game ;
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.assets.AssetManager ;
+import com.badlogic.gdx.graphics.GL20 ;
+import com.badlogic.gdx.graphics.OrthographicCamera ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType ;
+import com.billyharrisongdx.game.game.Assets ;
+import com.billyharrisongdx.game.util.AudioManager ;
+import com.billyharrisongdx.game.util.Constants ;
+import com.billyharrisongdx.game.util.GamePreferences ;
+
+/**
+ * First screen of the game. Streams the assets in a few
+ * milliseconds per frame while drawing a progress bar, then
+ * moves on to the menu
+ */
+public class LoadingScreen extends AbstractGameScreen
+{
+	private static final String TAG = LoadingScreen.class.getName() ;
+
+	// Size of the progress bar in GUI units
+	private static final float BAR_WIDTH = 400.0f ;
+	private static final float BAR_HEIGHT = 20.0f ;
+
+	private OrthographicCamera camera ;
+	private ShapeRenderer shapeRenderer ;
+	private long startTime ;
+
+	public LoadingScreen(Game game)
+	{
+		super(game) ;
+	}
+
+	@Override
+	public void render(float deltaTime)
+	{
+		if(Assets.instance.update(Constants.ASSET_LOAD_BUDGET_MS))
+		{
+			Gdx.app.debug(TAG, "assets loaded in " + (System.currentTimeMillis() - startTime) + " ms") ;
+			// Load preferences for audio settings and start playing music
+			GamePreferences.instance.load() ;
+			AudioManager.instance.playMusic(Constants.MUSIC_SONG_01) ;
+
+			// Start game at menu screen, or the replay asked for
+			ScreenManager.instance.showStart() ;
+			return ;
+		}
+
+		Gdx.gl.glClearColor(0.0f, 0.0f, 0.0f, 1.0f) ;
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT) ;
+
+		// Progress bar centered on the screen
+		float x = (Constants.VIEWPORT_GUI_WIDTH - BAR_WIDTH) / 2 ;
+		float y = (Constants.VIEWPORT_GUI_HEIGHT - BAR_HEIGHT) / 2 ;
+		shapeRenderer.setProjectionMatrix(camera.combined) ;
+		shapeRenderer.begin(ShapeType.Filled) ;
+		shapeRenderer.setColor(0.25f, 0.25f, 0.25f, 1) ;
+		shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT) ;
+		shapeRenderer.setColor(1, 1, 1, 1) ;
+		shapeRenderer.rect(x, y, BAR_WIDTH * Assets.instance.getProgress(), BAR_HEIGHT) ;
+		shapeRenderer.end() ;
+	}
+
+	@Override
+	public void resize(int width, int height)
+	{
+		camera.setToOrtho(false, Constants.VIEWPORT_GUI_WIDTH, Constants.VIEWPORT_GUI_HEIGHT) ;
+		camera.update() ;
+	}
+
+	@Override
+	public void show()
+	{
+		camera = new OrthographicCamera() ;
+		camera.setToOrtho(false, Constants.VIEWPORT_GUI_WIDTH, Constants.VIEWPORT_GUI_HEIGHT) ;
+		camera.update() ;
+		shapeRenderer = new ShapeRenderer() ;
+
+		// Queue all assets, they are loaded bit by bit in render()
+		startTime = System.currentTimeMillis() ;
+		Assets.instance.load(new AssetManager()) ;
+		// The music file is opened meanwhile on its own thread
+		AudioManager.instance.prefetchMusic(Constants.MUSIC_SONG_01) ;
+	}
+
+	@Override
+	public void hide()
+	{
+		shapeRenderer.dispose() ;
+	}
+
+	@Override
+	public void pause() {}
+}
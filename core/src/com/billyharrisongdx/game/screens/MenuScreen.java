@@ -13,7 +13,6 @@ import com.badlogic.gdx.Game ;
 import com.badlogic.gdx.Gdx ;
 import com.badlogic.gdx.graphics.GL20 ;
 import com.badlogic.gdx.graphics.Color ;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas ;
 import com.badlogic.gdx.scenes.scene2d.Stage ;
 import com.badlogic.gdx.scenes.scene2d.Actor ;
 import com.badlogic.gdx.scenes.scene2d.ui.Button ;
@@ -66,6 +65,7 @@ public class MenuScreen extends AbstractGameScreen
 	private SelectBox<CharacterSkin> selCharSkin ;
 	private Image imgCharSkin ;
 	private CheckBox chkShowFpsCounter ;
+	private CheckBox chkShowProfiler ;
 	private Skin skinLibgdx ;
 
 	// Debug
@@ -80,9 +80,6 @@ public class MenuScreen extends AbstractGameScreen
 
 	private void rebuildStage()
 	{
-		skinCanyonBunny = new Skin(Gdx.files.internal(Constants.SKIN_CANYONBUNNY_UI), new TextureAtlas(Constants.TEXTURE_ATLAS_UI)) ;
-
-		skinLibgdx = new Skin(Gdx.files.internal(Constants.SKIN_LIBGDX_UI), new TextureAtlas(Constants.TEXTURE_ATLAS_LIBGDX_UI)) ;
 		// Build all layers
 		Table layerBackground = buildBackgroundLayer() ;
 		Table layerObjects = buildObjectsLayer() ;
@@ -235,7 +232,7 @@ public class MenuScreen extends AbstractGameScreen
 	 */
 	private void onPlayClicked()
 	{
-		game.setScreen(new GameScreen(game)) ;
+		ScreenManager.instance.showGame() ;
 	}
 
 	/**
@@ -269,12 +266,11 @@ public class MenuScreen extends AbstractGameScreen
 	}
 
 	/**
-	 * Loads options settings previously saved
+	 * Shows the current options settings, loaded at startup
 	 */
 	private void loadSettings()
 	{
 		GamePreferences prefs = GamePreferences.instance ;
-		prefs.load() ;
 		chkSound.setChecked(prefs.sound) ;
 		sldSound.setValue(prefs.volSound) ;
 		chkMusic.setChecked(prefs.music) ;
@@ -282,6 +278,7 @@ public class MenuScreen extends AbstractGameScreen
 		selCharSkin.setSelectedIndex(prefs.charSkin) ;
 		onCharSkinSelected(prefs.charSkin) ;
 		chkShowFpsCounter.setChecked(prefs.showFpsCounter) ;
+		chkShowProfiler.setChecked(prefs.showProfiler) ;
 	}
 
 
@@ -297,6 +294,7 @@ public class MenuScreen extends AbstractGameScreen
 		prefs.volMusic = sldMusic.getValue() ;
 		prefs.charSkin = selCharSkin.getSelectedIndex() ;
 		prefs.showFpsCounter = chkShowFpsCounter.isChecked() ;
+		prefs.showProfiler = chkShowProfiler.isChecked() ;
 		prefs.save() ;
 	}
 
@@ -405,6 +403,11 @@ public class MenuScreen extends AbstractGameScreen
 		tbl.add(new Label("Show FPS Counter", skinLibgdx)) ;
 		tbl.add(chkShowFpsCounter) ;
 		tbl.row() ;
+		// + Checkbox, "Show Profiler" label
+		chkShowProfiler = new CheckBox("", skinLibgdx) ;
+		tbl.add(new Label("Show Profiler", skinLibgdx)) ;
+		tbl.add(chkShowProfiler) ;
+		tbl.row() ;
 		return tbl ;
 	}
 
@@ -503,13 +506,27 @@ public class MenuScreen extends AbstractGameScreen
 	{
 		stage = new Stage(new StretchViewport(Constants.VIEWPORT_GUI_WIDTH, Constants.VIEWPORT_GUI_HEIGHT)) ;
 		Gdx.input.setInputProcessor(stage) ;
+		// Skins are shared by every menu screen and stay loaded
+		skinCanyonBunny = Assets.instance.acquireSkin(Constants.SKIN_CANYONBUNNY_UI, Constants.TEXTURE_ATLAS_UI) ;
+		skinLibgdx = Assets.instance.acquireSkin(Constants.SKIN_LIBGDX_UI, Constants.TEXTURE_ATLAS_LIBGDX_UI) ;
 		rebuildStage() ;
+		// Get the game ready while the player looks at the menu
+		ScreenManager.instance.preloadGame() ;
 	}
 
 	@Override public void hide()
 	{
 		stage.dispose() ;
-		skinCanyonBunny.dispose() ;
+		stage = null ;
+		Assets.instance.releaseSkin(Constants.SKIN_CANYONBUNNY_UI) ;
+		Assets.instance.releaseSkin(Constants.SKIN_LIBGDX_UI) ;
+	}
+
+	@Override public void dispose()
+	{
+		// Still showing, the stage and skins were not released yet
+		if(stage != null) hide() ;
+		super.dispose() ;
 	}
 
 	@Override public void pause(){}
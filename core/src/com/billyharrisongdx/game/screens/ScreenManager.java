@@ -0,0 +1,157 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/24/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.screens;
+
+import com.badlogic.gdx.Game ;
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.Screen ;
+import com.billyharrisongdx.game.game.InputRecording ;
+
+/**
+ * Keeps one menu screen and one game screen for the whole
+ * session and switches between them, so going back and forth
+ * only resets the game instead of building everything again
+ */
+public class ScreenManager
+{
+	public static final String TAG = ScreenManager.class.getName() ;
+
+	public static final ScreenManager instance = new ScreenManager() ;
+
+	private Game game ;
+	private MenuScreen menuScreen ;
+	private GameScreen gameScreen ;
+	// Recording to play once loading is done, if any
+	private InputRecording startReplay ;
+	// Whether the game screen saves the input of its sessions
+	private boolean recordSessions ;
+
+	// singleton: prevent instantiation from other classes
+	private ScreenManager() {}
+
+	public void init(Game game)
+	{
+		this.game = game ;
+	}
+
+	/**
+	 * Plays the recording instead of the menu after loading
+	 */
+	public void setStartReplay(InputRecording replay)
+	{
+		startReplay = replay ;
+	}
+
+	/**
+	 * Saves the input of every played session, off by default
+	 */
+	public void setRecordSessions(boolean recordSessions)
+	{
+		this.recordSessions = recordSessions ;
+		if(gameScreen != null) gameScreen.setRecordSessions(recordSessions) ;
+	}
+
+	/**
+	 * Shows the first screen after loading: the start replay if
+	 * there is one, otherwise the start menu
+	 */
+	public void showStart()
+	{
+		if(startReplay != null)
+		{
+			showReplay(startReplay) ;
+			startReplay = null ;
+		}
+		else
+		{
+			showMenu() ;
+		}
+	}
+
+	/**
+	 * Switches to the start menu
+	 */
+	public void showMenu()
+	{
+		if(menuScreen == null)
+		{
+			menuScreen = new MenuScreen(game) ;
+		}
+		show(menuScreen) ;
+	}
+
+	/**
+	 * Switches to the game, starting a new session
+	 */
+	public void showGame()
+	{
+		show(getGameScreen()) ;
+	}
+
+	/**
+	 * Switches to the game and plays the recording on it instead
+	 * of taking keyboard input
+	 */
+	public void showReplay(InputRecording replay)
+	{
+		getGameScreen().setReplay(replay) ;
+		show(gameScreen) ;
+	}
+
+	/**
+	 * Loads the level and game world on the next frame, while the
+	 * menu is only waiting for input, so pressing play does not
+	 * have to wait for it
+	 */
+	public void preloadGame()
+	{
+		Gdx.app.postRunnable(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				getGameScreen().prepare() ;
+			}
+		}) ;
+	}
+
+	private GameScreen getGameScreen()
+	{
+		if(gameScreen == null)
+		{
+			gameScreen = new GameScreen(game) ;
+			gameScreen.setRecordSessions(recordSessions) ;
+		}
+		return gameScreen ;
+	}
+
+	private void show(Screen screen)
+	{
+		// Already showing, do not hide and show it again
+		if(game.getScreen() == screen) return ;
+		game.setScreen(screen) ;
+	}
+
+	/**
+	 * Releases the menu and the game world when the game exits
+	 */
+	public void dispose()
+	{
+		if(menuScreen != null)
+		{
+			menuScreen.dispose() ;
+			menuScreen = null ;
+		}
+		if(gameScreen != null)
+		{
+			gameScreen.dispose() ;
+			gameScreen = null ;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 12/1/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.util;
+
+import com.badlogic.gdx.graphics.g2d.Animation ;
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode ;
+import com.badlogic.gdx.graphics.g2d.TextureRegion ;
+import com.badlogic.gdx.math.MathUtils ;
+
+/**
+ * Plays one looping animation for many objects at once. The
+ * objects do not keep their own time, each one picks one of a few
+ * phase buckets spread over the animation's cycle so they still
+ * do not all move together. The key frame of every bucket is
+ * looked up once per frame instead of once per object
+ */
+public class AnimationClock
+{
+	private final Animation animation ;
+
+	// Time added to the clock for each bucket and its current frame
+	private final float[] bucketOffsets ;
+	private final TextureRegion[] bucketFrames ;
+
+	private float time ;
+	// Whether the bucket frames still show the current time
+	private boolean framesValid ;
+
+	public AnimationClock(Animation animation, int bucketCount)
+	{
+		this.animation = animation ;
+		bucketOffsets = new float[bucketCount] ;
+		bucketFrames = new TextureRegion[bucketCount] ;
+
+		float cycle = animation.getAnimationDuration() ;
+		if(animation.getPlayMode() == PlayMode.LOOP_PINGPONG)
+		{
+			// Forward and back without showing the end frames twice
+			cycle = (animation.getKeyFrames().length * 2 - 2) * animation.getFrameDuration() ;
+		}
+		for(int i = 0; i < bucketCount; i++)
+		{
+			bucketOffsets[i] = cycle * i / bucketCount ;
+		}
+	}
+
+	/**
+	 * Returns a random bucket for a new object
+	 */
+	public int randomBucket()
+	{
+		return MathUtils.random(bucketOffsets.length - 1) ;
+	}
+
+	public void update(float deltaTime)
+	{
+		time += deltaTime ;
+		framesValid = false ;
+	}
+
+	public float getTime()
+	{
+		return time ;
+	}
+
+	public void setTime(float time)
+	{
+		this.time = time ;
+		framesValid = false ;
+	}
+
+	/**
+	 * Returns the current frame of the objects in the bucket
+	 */
+	public TextureRegion getKeyFrame(int bucket)
+	{
+		if(!framesValid)
+		{
+			for(int i = 0; i < bucketFrames.length; i++)
+			{
+				bucketFrames[i] = animation.getKeyFrame(time + bucketOffsets[i], true) ;
+			}
+			framesValid = true ;
+		}
+		return bucketFrames[bucket] ;
+	}
+}
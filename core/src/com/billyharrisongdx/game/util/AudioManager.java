@@ -8,18 +8,88 @@
 
 package com.billyharrisongdx.game.util;
 
+import com.badlogic.gdx.Gdx ;
 import com.badlogic.gdx.audio.Music ;
 import com.badlogic.gdx.audio.Sound ;
+import com.badlogic.gdx.files.FileHandle ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.badlogic.gdx.utils.ObjectMap ;
+import com.badlogic.gdx.utils.TimeUtils ;
+import com.badlogic.gdx.utils.async.AsyncExecutor ;
+import com.badlogic.gdx.utils.async.AsyncResult ;
+import com.badlogic.gdx.utils.async.AsyncTask ;
 
 public class AudioManager
 {
+	public static final String TAG = AudioManager.class.getName() ;
+
 	public static final AudioManager instance = new AudioManager() ;
 
+	// Opens music files off the render thread, created when needed
+	private AsyncExecutor executor ;
+	// Every track opened or being opened, by file name
+	private final ObjectMap<String, AsyncResult<Music>> tracks = new ObjectMap<String, AsyncResult<Music>>() ;
+
 	private Music playingMusic ;
+	// Track asked for that is still being opened
+	private String requestedMusic ;
+	// Previous track while it crossfades into playingMusic
+	private Music fadingMusic ;
+	private float fadeTime ;
+
+	/**
+	 * Limits of one sound, set with setVoiceLimits()
+	 */
+	private static class SoundLimits
+	{
+		int maxVoices = Constants.SOUND_VOICES_PER_SOUND ;
+		int priority ;
+		long lengthMillis = Constants.SOUND_DEFAULT_LENGTH_MS ;
+		// When the sound was last started, for coalescing
+		long lastStartMillis ;
+	}
+
+	private final ObjectMap<Sound, SoundLimits> limits = new ObjectMap<Sound, SoundLimits>() ;
+
+	/**
+	 * Voices that may still be playing, one slot each. The audio
+	 * backend cannot tell when a voice ends, so it is counted as
+	 * playing for the length of its sound. Free slots have no sound
+	 */
+	private final Sound[] voiceSounds = new Sound[Constants.SOUND_VOICES_MAX] ;
+	private final long[] voiceIds = new long[Constants.SOUND_VOICES_MAX] ;
+	private final int[] voicePriorities = new int[Constants.SOUND_VOICES_MAX] ;
+	private final long[] voiceStartMillis = new long[Constants.SOUND_VOICES_MAX] ;
+	private final long[] voiceEndMillis = new long[Constants.SOUND_VOICES_MAX] ;
 
 	// singleton: prevent instantiation from other classes
 	private AudioManager(){}
 
+	/**
+	 * Sets how many voices of the sound may play at once, how
+	 * important it is when all voices are in use (higher wins)
+	 * and how long it plays
+	 * @param length in seconds
+	 */
+	public void setVoiceLimits(Sound sound, int maxVoices, int priority, float length)
+	{
+		SoundLimits soundLimits = getLimits(sound) ;
+		soundLimits.maxVoices = maxVoices ;
+		soundLimits.priority = priority ;
+		soundLimits.lengthMillis = (long) (length * 1000) ;
+	}
+
+	private SoundLimits getLimits(Sound sound)
+	{
+		SoundLimits soundLimits = limits.get(sound) ;
+		if(soundLimits == null)
+		{
+			soundLimits = new SoundLimits() ;
+			limits.put(sound, soundLimits) ;
+		}
+		return soundLimits ;
+	}
+
 	public void play(Sound sound)
 	{
 		play(sound, 1) ;
@@ -35,46 +105,254 @@ public class AudioManager
 		play(sound, volume, pitch, 0) ;
 	}
 
+	/**
+	 * Plays the sound unless the same sound was just started, in
+	 * which case both would be heard as one. When the sound or all
+	 * sounds are at their voice limit the oldest voice of the sound,
+	 * or else the oldest of the least important sounds, is stopped.
+	 * The new sound is dropped if every voice is more important
+	 */
 	public void play(Sound sound, float volume, float pitch, float pan)
 	{
 		if(!GamePreferences.instance.sound) return ;
-		sound.play(GamePreferences.instance.volSound * volume, pitch, pan) ;
+
+		long now = TimeUtils.millis() ;
+		SoundLimits soundLimits = getLimits(sound) ;
+		if(now - soundLimits.lastStartMillis < Constants.SOUND_COALESCE_MS) return ;
+
+		int slot = findSlot(sound, soundLimits, now) ;
+		if(slot < 0) return ;
+		if(voiceSounds[slot] != null)
+		{
+			voiceSounds[slot].stop(voiceIds[slot]) ;
+		}
+
+		long id = sound.play(GamePreferences.instance.volSound * volume, pitch, pan) ;
+		soundLimits.lastStartMillis = now ;
+		if(id == -1)
+		{
+			// Backend had no voice left
+			voiceSounds[slot] = null ;
+			return ;
+		}
+		voiceSounds[slot] = sound ;
+		voiceIds[slot] = id ;
+		voicePriorities[slot] = soundLimits.priority ;
+		voiceStartMillis[slot] = now ;
+		voiceEndMillis[slot] = now + soundLimits.lengthMillis ;
 	}
 
-	public void play(Music music)
+	/**
+	 * Returns the slot for a new voice of the sound: the sound's
+	 * oldest voice if it is at its limit, else a free slot, else
+	 * the voice to steal. -1 if the sound should not play
+	 */
+	private int findSlot(Sound sound, SoundLimits soundLimits, long now)
 	{
-		stopMusic() ;
+		int free = -1 ;
+		int ownCount = 0 ;
+		int ownOldest = -1 ;
+		int victim = -1 ;
+		for(int i = 0; i < voiceSounds.length; i++)
+		{
+			if(voiceSounds[i] != null && voiceEndMillis[i] <= now)
+			{
+				// Finished playing on its own
+				voiceSounds[i] = null ;
+			}
+			if(voiceSounds[i] == null)
+			{
+				if(free < 0) free = i ;
+				continue ;
+			}
+			if(voiceSounds[i] == sound)
+			{
+				ownCount++ ;
+				if(ownOldest < 0 || voiceStartMillis[i] < voiceStartMillis[ownOldest]) ownOldest = i ;
+			}
+			if(victim < 0 || voicePriorities[i] < voicePriorities[victim]
+				|| (voicePriorities[i] == voicePriorities[victim] && voiceStartMillis[i] < voiceStartMillis[victim]))
+			{
+				victim = i ;
+			}
+		}
+
+		if(ownCount >= soundLimits.maxVoices) return ownOldest ;
+		if(free >= 0) return free ;
+		return voicePriorities[victim] <= soundLimits.priority ? victim : -1 ;
+	}
+
+	/**
+	 * Starts opening a music file in the background so it can be
+	 * played without a stall. Call it a little before the track is
+	 * needed, playMusic() does it if nobody did
+	 */
+	public void prefetchMusic(String filename)
+	{
+		if(tracks.containsKey(filename)) return ;
+		if(executor == null) executor = new AsyncExecutor(1) ;
+
+		final FileHandle file = Gdx.files.internal(filename) ;
+		tracks.put(filename, executor.submit(new AsyncTask<Music>()
+		{
+			@Override
+			public Music call() throws Exception
+			{
+				// Opens the stream and reads the header, the asset
+				// manager's music loader does this off the render thread too
+				return Gdx.audio.newMusic(file) ;
+			}
+		})) ;
+	}
+
+	/**
+	 * Crossfades from the current track to the music file once it
+	 * is open. Returns right away, update() switches the tracks
+	 */
+	public void playMusic(String filename)
+	{
+		prefetchMusic(filename) ;
+		requestedMusic = filename ;
+	}
+
+	/**
+	 * Starts requested tracks that have been opened and moves the
+	 * crossfade along. Call once per frame
+	 */
+	public void update(float deltaTime)
+	{
+		if(requestedMusic != null && tracks.get(requestedMusic).isDone())
+		{
+			Music music = getTrack(requestedMusic) ;
+			requestedMusic = null ;
+			if(music != null) startMusic(music) ;
+		}
+
+		if(fadingMusic != null)
+		{
+			fadeTime += deltaTime ;
+			if(fadeTime >= Constants.MUSIC_CROSSFADE_TIME)
+			{
+				fadingMusic.stop() ;
+				fadingMusic = null ;
+			}
+			updateMusicVolume() ;
+		}
+	}
+
+	/**
+	 * Returns an opened track, or null if it could not be opened
+	 */
+	private Music getTrack(String filename)
+	{
+		try
+		{
+			return tracks.get(filename).get() ;
+		}
+		catch(GdxRuntimeException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't open music '" + filename + "'", ex) ;
+			// Forget it so a later request tries again
+			tracks.remove(filename) ;
+			return null ;
+		}
+	}
+
+	private void startMusic(Music music)
+	{
+		if(music == playingMusic) return ;
+
+		// A track still fading out from an earlier switch is cut off
+		if(fadingMusic != null) fadingMusic.stop() ;
+		fadingMusic = null ;
+		if(playingMusic != null)
+		{
+			if(playingMusic.isPlaying())
+			{
+				fadingMusic = playingMusic ;
+				fadeTime = 0 ;
+			}
+			else
+			{
+				playingMusic.stop() ;
+			}
+		}
+
 		playingMusic = music ;
+		music.setLooping(true) ;
+		updateMusicVolume() ;
+		if(GamePreferences.instance.music) music.play() ;
+	}
 
-		if(GamePreferences.instance.music)
+	/**
+	 * Sets the music volume from the settings, split between the
+	 * two tracks during a crossfade
+	 */
+	private void updateMusicVolume()
+	{
+		if(playingMusic == null) return ;
+		float volume = GamePreferences.instance.volMusic ;
+		if(fadingMusic == null)
 		{
-			music.setLooping(true) ;
-			music.setVolume(GamePreferences.instance.volMusic) ;
-			music.play() ;
+			playingMusic.setVolume(volume) ;
+			return ;
 		}
+		float alpha = Math.min(fadeTime / Constants.MUSIC_CROSSFADE_TIME, 1.0f) ;
+		playingMusic.setVolume(volume * alpha) ;
+		fadingMusic.setVolume(volume * (1.0f - alpha)) ;
 	}
 
 	public void stopMusic()
 	{
+		requestedMusic = null ;
+		if(fadingMusic != null) fadingMusic.stop() ;
+		fadingMusic = null ;
 		if(playingMusic != null) playingMusic.stop() ;
 	}
 
 	public void onSettingsUpdated()
 	{
 		if(playingMusic == null) return ;
-		playingMusic.setVolume(GamePreferences.instance.volMusic) ;
 		if(GamePreferences.instance.music)
 		{
+			updateMusicVolume() ;
 			if(!playingMusic.isPlaying()) playingMusic.play() ;
 		}
 		else
 		{
+			// No point finishing a fade nobody hears
+			if(fadingMusic != null) fadingMusic.stop() ;
+			fadingMusic = null ;
 			playingMusic.pause() ;
 		}
 	}
-}
-
-
-
-
 
+	/**
+	 * Stops the music and closes every opened track. Waits for
+	 * tracks still being opened
+	 */
+	public void dispose()
+	{
+		stopMusic() ;
+		playingMusic = null ;
+		if(executor != null)
+		{
+			executor.dispose() ;
+			executor = null ;
+		}
+		// Not through getTrack(), it removes failed tracks from the
+		// map while it is iterated
+		for(ObjectMap.Entry<String, AsyncResult<Music>> entry : tracks)
+		{
+			try
+			{
+				entry.value.get().dispose() ;
+			}
+			catch(GdxRuntimeException ex)
+			{
+				// Never opened, nothing to close
+			}
+		}
+		tracks.clear() ;
+	}
+}
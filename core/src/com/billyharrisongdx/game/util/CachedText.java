@@ -0,0 +1,102 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/25/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.util;
+
+import com.badlogic.gdx.graphics.Color ;
+import com.badlogic.gdx.graphics.g2d.Batch ;
+import com.badlogic.gdx.graphics.g2d.BitmapFont ;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache ;
+import com.badlogic.gdx.utils.StringBuilder ;
+
+/**
+ * A line of GUI text showing one or two numbers behind fixed
+ * labels. The glyphs are kept in a font cache and only laid out
+ * again when a number changes, so drawing it every frame does not
+ * create any strings
+ */
+public class CachedText
+{
+	private final BitmapFontCache cache ;
+	private final int halign ;
+
+	// Reused to write the labels and numbers into
+	private final StringBuilder text = new StringBuilder(32) ;
+
+	// Numbers and color currently laid out
+	private boolean valid ;
+	private int shownValue ;
+	private int shownValue2 ;
+	private float shownColor ;
+
+	/**
+	 * @param halign alignment of the text at its position, see Align
+	 */
+	public CachedText(BitmapFont font, int halign)
+	{
+		cache = font.newFontCache() ;
+		this.halign = halign ;
+		shownColor = Color.WHITE.toFloatBits() ;
+	}
+
+	/**
+	 * Shows a label followed by a number. The label is expected to
+	 * stay the same, only a new number lays out the text again
+	 */
+	public void setNumber(CharSequence label, int value)
+	{
+		if(valid && value == shownValue) return ;
+		text.setLength(0) ;
+		text.append(label) ;
+		text.append(value) ;
+		layout(value, 0) ;
+	}
+
+	/**
+	 * Shows two labeled numbers on one line
+	 */
+	public void setNumbers(CharSequence label, int value, CharSequence label2, int value2)
+	{
+		if(valid && value == shownValue && value2 == shownValue2) return ;
+		text.setLength(0) ;
+		text.append(label) ;
+		text.append(value) ;
+		text.append(label2) ;
+		text.append(value2) ;
+		layout(value, value2) ;
+	}
+
+	/**
+	 * Changes the color of the text, the glyphs stay in place
+	 */
+	public void setColor(float r, float g, float b, float a)
+	{
+		float color = Color.toFloatBits(r, g, b, a) ;
+		if(color == shownColor) return ;
+		shownColor = color ;
+		cache.setColor(r, g, b, a) ;
+		cache.setColors(color) ;
+	}
+
+	/**
+	 * Draws the text with its anchor at the given position
+	 */
+	public void draw(Batch batch, float x, float y)
+	{
+		cache.setPosition(x, y) ;
+		cache.draw(batch) ;
+	}
+
+	private void layout(int value, int value2)
+	{
+		cache.setText(text, 0, 0, 0, halign, false) ;
+		shownValue = value ;
+		shownValue2 = value2 ;
+		valid = true ;
+	}
+}
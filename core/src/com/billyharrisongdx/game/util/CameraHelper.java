@@ -23,6 +23,7 @@ public class CameraHelper
 	private final float MAX_ZOOM_IN = 0.25f ;
 	private final float MAX_ZOOM_OUT = 10.0f ;
 	private Vector2 position ;
+	private Vector2 previousPosition ;
 	private float zoom ;
 	private AbstractGameObject target ;
 	private final float FOLLOW_SPEED = 4.0f ;
@@ -33,9 +34,18 @@ public class CameraHelper
 	public CameraHelper()
 	{
 		position = new Vector2() ;
+		previousPosition = new Vector2() ;
 		zoom = 1.0f ;
 	}
 
+	/**
+	 * Remembers the position before a simulation step
+	 */
+	public void storePreviousPosition()
+	{
+		previousPosition.set(position) ;
+	}
+
 	/**
 	 * Updates the games state based on the deltaTime
 	 */
@@ -132,8 +142,18 @@ public class CameraHelper
 	 */
 	public void applyTo(OrthographicCamera camera)
 	{
-		camera.position.x = position.x ;
-		camera.position.y = position.y ;
+		applyTo(camera, 1.0f) ;
+	}
+
+	/**
+	 * Applies settings to camera placing it in between the
+	 * previous and current position
+	 * @param alpha fraction of the next step that has passed
+	 */
+	public void applyTo(OrthographicCamera camera, float alpha)
+	{
+		camera.position.x = previousPosition.x + (position.x - previousPosition.x) * alpha ;
+		camera.position.y = previousPosition.y + (position.y - previousPosition.y) * alpha ;
 		camera.zoom = zoom ;
 		camera.update();
 	}
@@ -26,9 +26,22 @@ public class Constants
 	// Location of description file for texture atlas
 	public static final String TEXTURE_ATLAS_OBJECTS = "../core/assets/images/canyonbunny.pack.atlas";
 
+	// Location of description file for the default bitmap font
+	public static final String FONT_DEFAULT = "../core/assets/images/arial-15.fnt" ;
+
+	// Location of the dust particle effect and the folder of its images
+	public static final String PARTICLE_DUST = "../core/assets/particles/dust.part" ;
+	public static final String PARTICLE_IMAGES_DIR = "../core/assets/particles" ;
+
+	// Most copies of a particle effect kept for reuse
+	public static final int PARTICLE_POOL_MAX = 8 ;
+
 	// Location of image file for level 01
 	public static final String LEVEL_01 = "../core/assets/images/levels/level-01.png" ;
 
+	// Local storage folder for levels compiled by the game itself
+	public static final String LEVEL_CACHE_DIR = "cache/levels" ;
+
 	// Amount of extra lives at level start
 	public static final int LIVES_START = 3 ;
 
@@ -57,6 +70,49 @@ public class Constants
 
 	// Delay after game finished
 	public static final float TIME_DELAY_GAME_FINISHED = 6 ;
+
+	// Cell size of the spatial grids used for collision tests
+	public static final float SPATIAL_GRID_CELL_SIZE = 2.0f ;
+
+	// Simulation steps per second
+	public static final int SIMULATION_HZ = 60 ;
+
+	// Length of one simulation step in seconds
+	public static final float FIXED_TIMESTEP = 1.0f / SIMULATION_HZ ;
+
+	// Most simulation steps run for a single frame, the rest is dropped
+	public static final int MAX_SUBSTEPS = 5 ;
+
+	// Extra space around the camera view that is still drawn
+	public static final float CULLING_MARGIN = 1.0f ;
+
+	// Different phases objects sharing an animation clock can be in
+	public static final int ANIMATION_PHASE_BUCKETS = 8 ;
+
+	// Milliseconds per frame the loading screen spends loading assets
+	public static final int ASSET_LOAD_BUDGET_MS = 8 ;
+
+	// Time without changes to the options before they are written to disk
+	public static final int PREFERENCES_WRITE_DELAY_MS = 500 ;
+
+	// Background music, opened in the background when first needed
+	public static final String MUSIC_SONG_01 = "music/keith303_-_brand_new_highscore.mp3" ;
+
+	// Seconds one music track takes to fade into the next
+	public static final float MUSIC_CROSSFADE_TIME = 1.5f ;
+
+	// Sounds that may play at the same time, in total and of one sound
+	public static final int SOUND_VOICES_MAX = 16 ;
+	public static final int SOUND_VOICES_PER_SOUND = 4 ;
+
+	// Time a sound counts as playing when its length was not set
+	public static final int SOUND_DEFAULT_LENGTH_MS = 1000 ;
+
+	// The same sound started again within this time is only played once
+	public static final int SOUND_COALESCE_MS = 30 ;
+
+	// Input of the last played session, written when it ends
+	public static final String REPLAY_LAST_SESSION = "replays/last-session.rec" ;
 }
 
 
@@ -0,0 +1,268 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/26/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.util;
+
+import java.util.Arrays ;
+
+import com.badlogic.gdx.graphics.g2d.Batch ;
+import com.badlogic.gdx.graphics.g2d.BitmapFont ;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer ;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType ;
+import com.badlogic.gdx.graphics.profiling.GLProfiler ;
+import com.badlogic.gdx.utils.StringBuilder ;
+import com.badlogic.gdx.utils.TimeUtils ;
+
+/**
+ * Measures how long the parts of a frame take and how much it
+ * asks from the graphics card, and draws the numbers with a graph
+ * of the recent frame times. Does nothing while disabled
+ */
+public class FrameProfiler
+{
+	public static final String TAG = FrameProfiler.class.getName() ;
+
+	public static final FrameProfiler instance = new FrameProfiler() ;
+
+	/**
+	 * Parts of a frame that are timed
+	 */
+	public static final int INPUT = 0 ;
+	public static final int LEVEL = 1 ;
+	public static final int COLLISIONS = 2 ;
+	public static final int PHYSICS = 3 ;
+	public static final int CAMERA = 4 ;
+	public static final int RENDER_WORLD = 5 ;
+	public static final int RENDER_GUI = 6 ;
+	private static final int SECTION_COUNT = 7 ;
+	private static final String[] SECTION_NAMES = { "input", "level", "collisions", "physics", "camera", "world", "gui" } ;
+
+	// Frames kept for the graph and percentiles
+	private static final int HISTORY = 300 ;
+
+	// Frame time drawn as a full height bar, in milliseconds
+	private static final float GRAPH_MAX_MS = 50.0f ;
+
+	// Seconds between refreshes of the text
+	private static final float TEXT_INTERVAL = 0.25f ;
+
+	private boolean enabled ;
+
+	// Timings of the frame in progress
+	private final long[] sectionStart = new long[SECTION_COUNT] ;
+	private final long[] sectionNanos = new long[SECTION_COUNT] ;
+	private long frameStart ;
+	private int renderCalls ;
+
+	// Timings of the last finished frame
+	private final long[] lastSectionNanos = new long[SECTION_COUNT] ;
+	private long lastCpuNanos ;
+	private int lastRenderCalls ;
+	private int lastDrawCalls ;
+	private int lastTextureBindings ;
+	private int lastGlCalls ;
+
+	// Frame times in milliseconds, oldest overwritten first
+	private final float[] frameTimes = new float[HISTORY] ;
+	private final float[] sortedFrameTimes = new float[HISTORY] ;
+	private int frameCount ;
+	private int nextFrame ;
+
+	private final StringBuilder text = new StringBuilder(256) ;
+	private float textTimeLeft ;
+	// Glyphs of the text, laid out only when it is rebuilt
+	private BitmapFontCache textCache ;
+
+	// singleton: prevent instantiation from other classes
+	private FrameProfiler() {}
+
+	/**
+	 * Turns measuring on or off, also hooks the OpenGL call counter
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		if(this.enabled == enabled) return ;
+		this.enabled = enabled ;
+		if(enabled)
+		{
+			GLProfiler.enable() ;
+			frameCount = 0 ;
+			nextFrame = 0 ;
+			textTimeLeft = 0 ;
+		}
+		else
+		{
+			GLProfiler.disable() ;
+		}
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled ;
+	}
+
+	/**
+	 * Starts measuring a new frame
+	 */
+	public void beginFrame()
+	{
+		if(!enabled) return ;
+		Arrays.fill(sectionNanos, 0) ;
+		renderCalls = 0 ;
+		GLProfiler.reset() ;
+		frameStart = TimeUtils.nanoTime() ;
+	}
+
+	/**
+	 * Starts timing a part of the frame. A part may run several
+	 * times per frame, its times are added up
+	 */
+	public void begin(int section)
+	{
+		if(!enabled) return ;
+		sectionStart[section] = TimeUtils.nanoTime() ;
+	}
+
+	public void end(int section)
+	{
+		if(!enabled) return ;
+		sectionNanos[section] += TimeUtils.nanoTime() - sectionStart[section] ;
+	}
+
+	/**
+	 * Counts the batches a sprite batch sent since its last begin()
+	 */
+	public void addRenderCalls(int calls)
+	{
+		if(!enabled) return ;
+		renderCalls += calls ;
+	}
+
+	/**
+	 * Finishes the frame and adds it to the history
+	 * @param deltaTime time since the last frame in seconds
+	 */
+	public void endFrame(float deltaTime)
+	{
+		if(!enabled) return ;
+		lastCpuNanos = TimeUtils.nanoTime() - frameStart ;
+		System.arraycopy(sectionNanos, 0, lastSectionNanos, 0, sectionNanos.length) ;
+		lastRenderCalls = renderCalls ;
+		lastDrawCalls = GLProfiler.drawCalls ;
+		lastTextureBindings = GLProfiler.textureBindings ;
+		lastGlCalls = GLProfiler.calls ;
+
+		frameTimes[nextFrame] = deltaTime * 1000.0f ;
+		nextFrame = (nextFrame + 1) % HISTORY ;
+		frameCount = Math.min(frameCount + 1, HISTORY) ;
+		textTimeLeft -= deltaTime ;
+	}
+
+	/**
+	 * Returns the frame time in milliseconds that the given share
+	 * of the recent frames stayed below, e.g. 0.99f for p99
+	 */
+	public float getPercentile(float percentile)
+	{
+		if(frameCount == 0) return 0 ;
+		System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, frameCount) ;
+		Arrays.sort(sortedFrameTimes, 0, frameCount) ;
+		int index = Math.min(frameCount - 1, (int)(percentile * frameCount)) ;
+		return sortedFrameTimes[index] ;
+	}
+
+	/**
+	 * Draws the timings and counters as lines of text
+	 */
+	public void renderText(Batch batch, BitmapFont font, float x, float y)
+	{
+		if(textCache == null || textCache.getFont() != font)
+		{
+			textCache = font.newFontCache() ;
+			textTimeLeft = 0 ;
+		}
+		if(textTimeLeft <= 0)
+		{
+			// Numbers change every frame, only refresh a few times per second
+			textTimeLeft = TEXT_INTERVAL ;
+			buildText() ;
+			textCache.setText(text, 0, 0) ;
+		}
+		textCache.setPosition(x, y) ;
+		textCache.draw(batch) ;
+	}
+
+	/**
+	 * Draws the recent frame times as bars, newest on the right.
+	 * Has to be called between begin() and end() of the renderer
+	 * @param y bottom of the graph in a y-down GUI camera
+	 */
+	public void renderGraph(ShapeRenderer shapeRenderer, float x, float y, float width, float height)
+	{
+		float barWidth = width / HISTORY ;
+		shapeRenderer.set(ShapeType.Filled) ;
+		for(int i = 0; i < frameCount; i++)
+		{
+			float ms = frameTimes[(nextFrame - frameCount + i + HISTORY) % HISTORY] ;
+			if(ms > 1000.0f / 30)
+			{
+				shapeRenderer.setColor(1, 0, 0, 1) ;
+			}
+			else if(ms > 1000.0f / 55)
+			{
+				shapeRenderer.setColor(1, 1, 0, 1) ;
+			}
+			else
+			{
+				shapeRenderer.setColor(0, 1, 0, 1) ;
+			}
+			float barHeight = Math.min(ms / GRAPH_MAX_MS, 1) * height ;
+			shapeRenderer.rect(x + (HISTORY - frameCount + i) * barWidth, y - barHeight, barWidth, barHeight) ;
+		}
+	}
+
+	private void buildText()
+	{
+		text.setLength(0) ;
+		text.append("frame p50 ") ;
+		appendMillis(getPercentile(0.5f)) ;
+		text.append(" p99 ") ;
+		appendMillis(getPercentile(0.99f)) ;
+		text.append(" cpu ") ;
+		appendMillis(lastCpuNanos / 1000000.0f) ;
+		text.append('\n') ;
+		for(int i = 0; i < SECTION_COUNT; i++)
+		{
+			text.append(SECTION_NAMES[i]) ;
+			text.append(' ') ;
+			appendMillis(lastSectionNanos[i] / 1000000.0f) ;
+			text.append('\n') ;
+		}
+		text.append("batches ") ;
+		text.append(lastRenderCalls) ;
+		text.append(" draws ") ;
+		text.append(lastDrawCalls) ;
+		text.append(" binds ") ;
+		text.append(lastTextureBindings) ;
+		text.append(" gl ") ;
+		text.append(lastGlCalls) ;
+	}
+
+	/**
+	 * Writes milliseconds with two decimals without creating a string
+	 */
+	private void appendMillis(float ms)
+	{
+		int hundredths = Math.round(ms * 100) ;
+		text.append(hundredths / 100) ;
+		text.append('.') ;
+		text.append(hundredths % 100, 2) ;
+		text.append(" ms") ;
+	}
+}
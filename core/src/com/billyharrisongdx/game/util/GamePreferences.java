@@ -8,9 +8,19 @@
 
 package com.billyharrisongdx.game.util;
 
+import java.util.HashMap ;
+import java.util.Map ;
+import java.util.concurrent.ExecutionException ;
+import java.util.concurrent.Executors ;
+import java.util.concurrent.Future ;
+import java.util.concurrent.ScheduledExecutorService ;
+import java.util.concurrent.ThreadFactory ;
+import java.util.concurrent.TimeUnit ;
+
 import com.badlogic.gdx.Gdx ;
 import com.badlogic.gdx.Preferences ;
 import com.badlogic.gdx.math.MathUtils ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
 
 public class GamePreferences
 {
@@ -24,8 +34,26 @@ public class GamePreferences
 	public float volMusic ;
 	public int charSkin ;
 	public boolean showFpsCounter ;
+	public boolean showProfiler ;
 
 	private Preferences prefs ;
+	// Options stay in memory after the first load
+	private boolean loaded ;
+
+	// Writes the preferences file off the render thread
+	private ScheduledExecutorService executor ;
+	private Future<?> scheduledWrite ;
+	// Options saved but not written yet, null when the file is up to date
+	private Map<String, Object> unwrittenValues ;
+
+	private final Runnable writeTask = new Runnable()
+	{
+		@Override
+		public void run()
+		{
+			write() ;
+		}
+	} ;
 
 	// singleton: prevent instantiation from other classes
 	private GamePreferences()
@@ -34,29 +62,123 @@ public class GamePreferences
 	}
 
 	/**
-	 * Load options saved to the preferences file
+	 * Load options saved to the preferences file. Only reads the
+	 * file the first time, the options are kept in memory after it
 	 */
 	public void load()
 	{
+		if(loaded) return ;
+		loaded = true ;
 		sound = prefs.getBoolean("sound", true) ;
 		music = prefs.getBoolean("music", true) ;
 		volSound = MathUtils.clamp(prefs.getFloat("volSound", 0.5f), 0.0f, 1.0f) ;
 		volMusic = MathUtils.clamp(prefs.getFloat("volMusic", 0.5f), 0.0f, 1.0f) ;
 		charSkin = MathUtils.clamp(prefs.getInteger("charSkin", 0), 0, 2) ;
 		showFpsCounter = prefs.getBoolean("showFpsCounter", false) ;
+		showProfiler = prefs.getBoolean("showProfiler", false) ;
+	}
+
+	/**
+	 * save options to the preferences file. The file is written on
+	 * a background thread once the options stop changing for
+	 * PREFERENCES_WRITE_DELAY_MS, so several saves in a row cost
+	 * one write
+	 */
+	public synchronized void save()
+	{
+		Map<String, Object> values = new HashMap<String, Object>() ;
+		values.put("sound", sound) ;
+		values.put("music", music) ;
+		values.put("volSound", volSound) ;
+		values.put("volMusic", volMusic) ;
+		values.put("charSkin", charSkin) ;
+		values.put("showFpsCounter", showFpsCounter) ;
+		values.put("showProfiler", showProfiler) ;
+		unwrittenValues = values ;
+
+		if(executor == null)
+		{
+			executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable r)
+				{
+					// Must not keep the game running after it is closed
+					Thread thread = new Thread(r, "GamePreferences-Writer") ;
+					thread.setDaemon(true) ;
+					return thread ;
+				}
+			}) ;
+		}
+		if(scheduledWrite != null) scheduledWrite.cancel(false) ;
+		scheduledWrite = executor.schedule(writeTask, Constants.PREFERENCES_WRITE_DELAY_MS, TimeUnit.MILLISECONDS) ;
+	}
+
+	/**
+	 * Writes saved options now and waits until they are on disk.
+	 * Call when the game may be closed
+	 */
+	public void flush()
+	{
+		Future<?> written ;
+		synchronized(this)
+		{
+			// Nothing was ever saved
+			if(executor == null) return ;
+			if(scheduledWrite != null) scheduledWrite.cancel(false) ;
+			scheduledWrite = null ;
+			// Runs after a write already in progress
+			written = executor.submit(writeTask) ;
+		}
+		try
+		{
+			written.get() ;
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt() ;
+		}
+		catch(ExecutionException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't write preferences", ex.getCause()) ;
+		}
+	}
+
+	/**
+	 * Writes the unwritten options, on the writer thread only
+	 */
+	private void write()
+	{
+		Map<String, Object> values ;
+		synchronized(this)
+		{
+			values = unwrittenValues ;
+			unwrittenValues = null ;
+		}
+		if(values == null) return ;
+
+		try
+		{
+			prefs.put(values) ;
+			prefs.flush() ;
+		}
+		catch(GdxRuntimeException ex)
+		{
+			Gdx.app.error(TAG, "Couldn't write preferences", ex) ;
+		}
 	}
 
 	/**
-	 * save options to the preferences file
+	 * Writes unsaved options and stops the writer thread
 	 */
-	public void save()
+	public void dispose()
 	{
-		prefs.putBoolean("sound", sound) ;
-		prefs.putBoolean("music", music) ;
-		prefs.putFloat("volSound", volSound) ;
-		prefs.putFloat("volMusic", volMusic) ;
-		prefs.putInteger("charSkin", charSkin) ;
-		prefs.putBoolean("showFpsCounter", showFpsCounter) ;
-		prefs.flush() ;
+		flush() ;
+		synchronized(this)
+		{
+			if(executor == null) return ;
+			executor.shutdown() ;
+			executor = null ;
+		}
 	}
-}
\ No newline at end of file
+}
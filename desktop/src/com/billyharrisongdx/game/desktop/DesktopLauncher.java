@@ -18,6 +18,7 @@ import com.billyharrisongdx.game.CanyonBunnyMain;
 public class DesktopLauncher {
 	private static boolean rebuildAtlas = false ; // Tells whether or not to build atlas
 	private static boolean drawDebugOutline = false ; // Draw box around displayed images
+	private static boolean rebuildLevels = false ; // Tells whether or not to compile level images
 
 	public static void main (String[] arg)
 	{
@@ -33,8 +34,29 @@ public class DesktopLauncher {
 			TexturePacker.process(settings, "assets-raw/images-ui", "../core/assets/images", "canyonbunny-ui.pack") ; // Creates start screen atlas in desired location
 		}
 
+		if (rebuildLevels)
+		{
+			LevelConverter.process("../core/assets/images/levels") ; // Compiles level images next to the originals
+		}
+
+		// "-record" saves the input of each session to replays/last-session.rec,
+		// "-replay <file>" plays a recorded session
+		String replayFilename = null ;
+		boolean recordSessions = false ;
+		for (int i = 0; i < arg.length; i++)
+		{
+			if (arg[i].equals("-record"))
+			{
+				recordSessions = true ;
+			}
+			else if (arg[i].equals("-replay") && i + 1 < arg.length)
+			{
+				replayFilename = arg[++i] ;
+			}
+		}
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
-		new LwjglApplication(new CanyonBunnyMain(), config);
+		new LwjglApplication(new CanyonBunnyMain(replayFilename, recordSessions), config);
 		config.width = 800;
 		config.height = 480;
 	}
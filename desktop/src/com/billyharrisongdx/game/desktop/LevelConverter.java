@@ -0,0 +1,96 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/18/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.desktop;
+
+import java.awt.image.BufferedImage ;
+import java.io.File ;
+import java.io.IOException ;
+
+import javax.imageio.ImageIO ;
+
+import com.badlogic.gdx.files.FileHandle ;
+import com.badlogic.gdx.utils.GdxRuntimeException ;
+import com.billyharrisongdx.game.game.LevelData ;
+
+/**
+ * Build time tool that compiles the color coded level images
+ * into the binary level format read by the game
+ */
+public class LevelConverter
+{
+	/**
+	 * Compiles every level image found in the directory. Throws
+	 * if an image can't be read or has pixels of unknown colors,
+	 * so a broken level stops the build
+	 */
+	public static void process(String levelDir)
+	{
+		File[] files = new File(levelDir).listFiles() ;
+		if(files == null)
+		{
+			throw new GdxRuntimeException("Level directory not found: " + levelDir) ;
+		}
+		for(File file : files)
+		{
+			if(file.getName().toLowerCase().endsWith(".png"))
+			{
+				convert(file) ;
+			}
+		}
+	}
+
+	/**
+	 * Compiles a single level image next to the original file
+	 */
+	public static void convert(File image)
+	{
+		BufferedImage bufferedImage ;
+		try
+		{
+			bufferedImage = ImageIO.read(image) ;
+		}
+		catch(IOException ex)
+		{
+			throw new GdxRuntimeException("Couldn't read level image " + image, ex) ;
+		}
+		if(bufferedImage == null)
+		{
+			throw new GdxRuntimeException("Not a supported image: " + image) ;
+		}
+
+		// Convert ARGB values to the RGBA layout used by Pixmap
+		int width = bufferedImage.getWidth() ;
+		int height = bufferedImage.getHeight() ;
+		int[] pixels = bufferedImage.getRGB(0, 0, width, height, null, 0, width) ;
+		for(int i = 0; i < pixels.length; i++)
+		{
+			int argb = pixels[i] ;
+			pixels[i] = (argb << 8) | (argb >>> 24) ;
+		}
+
+		LevelData data ;
+		try
+		{
+			data = LevelData.fromPixels(width, height, pixels, true) ;
+		}
+		catch(GdxRuntimeException ex)
+		{
+			throw new GdxRuntimeException("Broken level image " + image, ex) ;
+		}
+		File compiled = new File(LevelData.getCompiledName(image.getPath())) ;
+		long stamp = LevelData.getSourceStamp(new FileHandle(image).readBytes()) ;
+		data.write(new FileHandle(compiled), stamp) ;
+		System.out.println("Compiled " + image.getName() + " (" + data.size + " objects) to " + compiled.getName()) ;
+	}
+
+	public static void main(String[] arg)
+	{
+		process(arg.length > 0 ? arg[0] : "../core/assets/images/levels") ;
+	}
+}
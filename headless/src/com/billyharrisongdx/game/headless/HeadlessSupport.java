@@ -0,0 +1,94 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/27/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import java.lang.reflect.InvocationHandler ;
+import java.lang.reflect.Method ;
+import java.lang.reflect.Proxy ;
+import java.nio.IntBuffer ;
+
+import com.badlogic.gdx.Application ;
+import com.badlogic.gdx.ApplicationAdapter ;
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.assets.AssetManager ;
+import com.badlogic.gdx.backends.headless.HeadlessApplication ;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration ;
+import com.badlogic.gdx.graphics.GL20 ;
+import com.billyharrisongdx.game.game.Assets ;
+
+/**
+ * Starts libGDX without a window for the benchmarks and the
+ * level tools. There is no OpenGL, so a GL that does nothing
+ * is put in its place
+ */
+public class HeadlessSupport
+{
+	private static boolean initialized ;
+
+	/**
+	 * Sets up files, audio and a fake GL, then loads the game
+	 * assets. Only the first call does anything
+	 */
+	public static synchronized void init()
+	{
+		if(initialized) return ;
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration() ;
+		// Never call render(), the callers drive the game themselves
+		config.renderInterval = -1 ;
+		new HeadlessApplication(new ApplicationAdapter() {}, config) ;
+		Gdx.app.setLogLevel(Application.LOG_ERROR) ;
+
+		GL20 gl = createNoOpGL() ;
+		Gdx.gl = gl ;
+		Gdx.gl20 = gl ;
+		Assets.instance.init(new AssetManager()) ;
+
+		// Files, audio and preferences stay usable after the loop stops
+		Gdx.app.exit() ;
+		initialized = true ;
+	}
+
+	/**
+	 * Returns a GL that accepts every call. Queries report success
+	 * so shaders "compile" and textures get a handle
+	 */
+	private static GL20 createNoOpGL()
+	{
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class },
+			new InvocationHandler()
+			{
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args)
+				{
+					if(method.getName().equals("glGetError"))
+					{
+						return GL20.GL_NO_ERROR ;
+					}
+					if(args != null)
+					{
+						for(Object arg : args)
+						{
+							if(arg instanceof IntBuffer && ((IntBuffer) arg).remaining() > 0)
+							{
+								IntBuffer buffer = (IntBuffer) arg ;
+								buffer.put(buffer.position(), 1) ;
+							}
+						}
+					}
+					Class<?> type = method.getReturnType() ;
+					if(type == int.class) return 1 ;
+					if(type == boolean.class) return true ;
+					if(type == float.class) return 0.0f ;
+					if(type == String.class) return "" ;
+					return null ;
+				}
+			}) ;
+	}
+}
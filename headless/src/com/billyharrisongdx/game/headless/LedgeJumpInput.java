@@ -0,0 +1,88 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/28/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import com.billyharrisongdx.game.game.InputSource ;
+import com.billyharrisongdx.game.game.Level ;
+import com.billyharrisongdx.game.game.WorldController ;
+import com.billyharrisongdx.game.game.objects.BunnyHead ;
+import com.billyharrisongdx.game.game.objects.BunnyHead.JUMP_STATE ;
+import com.billyharrisongdx.game.game.objects.Rock ;
+
+/**
+ * Runs right and looks at the rocks around the bunny to decide
+ * when to jump: as late as possible before a gap, in front of a
+ * higher rock, and again in the air over a gap while it has a
+ * feather. Holds jump until the bunny stops rising
+ */
+public class LedgeJumpInput implements InputSource
+{
+	private final WorldController worldController ;
+	// How far past the bunny's back edge the ground must still be
+	private final float lookAhead ;
+
+	public LedgeJumpInput(WorldController worldController, float lookAhead)
+	{
+		this.worldController = worldController ;
+		this.lookAhead = lookAhead ;
+	}
+
+	@Override
+	public int poll()
+	{
+		Level level = worldController.level ;
+		BunnyHead bunnyHead = level.bunnyHead ;
+		float x = bunnyHead.position.x ;
+		Rock ahead = findRock(level, x + lookAhead) ;
+
+		switch(bunnyHead.jumpState)
+		{
+			case JUMP_RISING:
+				return bunnyHead.velocity.y > 0 ? RIGHT | JUMP : RIGHT ;
+			case GROUNDED:
+				Rock under = findRock(level, x + bunnyHead.bounds.width / 2) ;
+				Rock front = findRock(level, x + bunnyHead.bounds.width + 0.1f) ;
+				if(ahead == null || (under != null && front != null && getTop(front) > getTop(under)))
+				{
+					return RIGHT | JUMP ;
+				}
+				return RIGHT ;
+			default:
+				if(bunnyHead.hasFeatherPowerup && bunnyHead.velocity.y < 0 && ahead == null
+					&& findRock(level, x + bunnyHead.bounds.width / 2) == null)
+				{
+					return RIGHT | JUMP ;
+				}
+				return RIGHT ;
+		}
+	}
+
+	/**
+	 * Returns the highest rock covering the given x, or null over
+	 * a gap
+	 */
+	private static Rock findRock(Level level, float x)
+	{
+		Rock highest = null ;
+		for(Rock rock : level.rocks)
+		{
+			if(x < rock.position.x || x >= rock.position.x + rock.bounds.width) continue ;
+			if(highest == null || getTop(rock) > getTop(highest))
+			{
+				highest = rock ;
+			}
+		}
+		return highest ;
+	}
+
+	private static float getTop(Rock rock)
+	{
+		return rock.position.y + rock.bounds.height ;
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/28/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import java.io.File ;
+import java.io.FilenameFilter ;
+import java.util.ArrayList ;
+import java.util.Arrays ;
+import java.util.List ;
+
+import com.badlogic.gdx.math.MathUtils ;
+import com.billyharrisongdx.game.game.InputSource ;
+import com.billyharrisongdx.game.game.Level ;
+import com.billyharrisongdx.game.game.ScriptedInput ;
+import com.billyharrisongdx.game.game.WorldController ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Plays levels without a window or a player to check that they
+ * can be finished. Each level is tried with a few scripted ways
+ * of playing, stepped as fast as the machine allows instead of
+ * in real time. Exits with 1 if any level could not be finished
+ *
+ * Usage: LevelValidator [level image or folder ...]
+ */
+public class LevelValidator
+{
+	private static final String DEFAULT_LEVEL_DIR = "../core/assets/images/levels" ;
+
+	// Give up on an attempt after this much game time
+	private static final float MAX_SIMULATED_SECONDS = 300.0f ;
+
+	public static void main(String[] args)
+	{
+		List<String> levels = findLevels(args.length > 0 ? args : new String[] { DEFAULT_LEVEL_DIR }) ;
+		if(levels.isEmpty())
+		{
+			System.err.println("No levels found") ;
+			System.exit(1) ;
+		}
+
+		HeadlessSupport.init() ;
+
+		boolean allReachable = true ;
+		for(String filename : levels)
+		{
+			allReachable &= validate(filename) ;
+		}
+		System.exit(allReachable ? 0 : 1) ;
+	}
+
+	/**
+	 * Tries every strategy on the level until one reaches the goal
+	 * and prints a line per attempt. Returns whether any did
+	 */
+	static boolean validate(String filename)
+	{
+		System.out.println(filename) ;
+		WorldController worldController = new WorldController(null, new Level(filename)) ;
+		try
+		{
+			for(Strategy strategy : createStrategies(worldController))
+			{
+				if(attempt(worldController, strategy))
+				{
+					return true ;
+				}
+			}
+			System.out.println("  UNREACHABLE") ;
+			return false ;
+		}
+		finally
+		{
+			worldController.dispose() ;
+		}
+	}
+
+	/**
+	 * Plays the level from the start with one strategy until the
+	 * goal is reached, a life is lost or time runs out
+	 */
+	private static boolean attempt(WorldController worldController, Strategy strategy)
+	{
+		// Same random numbers every run so results can be compared
+		MathUtils.random.setSeed(1) ;
+		worldController.setInputSource(strategy.input) ;
+		worldController.startSession() ;
+
+		long startTime = System.nanoTime() ;
+		int maxSteps = (int) (MAX_SIMULATED_SECONDS / Constants.FIXED_TIMESTEP) ;
+		int steps = 0 ;
+		while(steps < maxSteps && !worldController.isGoalReached()
+			&& worldController.lives == Constants.LIVES_START)
+		{
+			worldController.update(Constants.FIXED_TIMESTEP) ;
+			steps++ ;
+		}
+		float wallMillis = (System.nanoTime() - startTime) / 1000000.0f ;
+
+		String result ;
+		if(worldController.isGoalReached()) result = "reached goal" ;
+		else if(worldController.lives < Constants.LIVES_START) result = "lost a life" ;
+		else result = "timed out" ;
+
+		System.out.println(String.format("  %-14s %-13s coins %d/%d  %.1fs simulated  %.0fms wall",
+			strategy.name, result, worldController.level.goldcoins.countCollected(),
+			worldController.level.goldcoins.size, steps * Constants.FIXED_TIMESTEP, wallMillis)) ;
+		return worldController.isGoalReached() ;
+	}
+
+	/**
+	 * Ways of playing, from simplest to most careful. Made new for
+	 * every level since the inputs keep their position
+	 */
+	private static Strategy[] createStrategies(WorldController worldController)
+	{
+		int right = InputSource.RIGHT ;
+		int rightJump = InputSource.RIGHT | InputSource.JUMP ;
+		return new Strategy[]
+		{
+			new Strategy("run", new ScriptedInput(new int[] { right }, new int[] { 1 })),
+			new Strategy("run and hop", new ScriptedInput(new int[] { right, rightJump }, new int[] { 12, 24 })),
+			new Strategy("ledge jumps", new LedgeJumpInput(worldController, 0.5f)),
+			new Strategy("late ledge", new LedgeJumpInput(worldController, 0.2f)),
+			new Strategy("early ledge", new LedgeJumpInput(worldController, 0.8f))
+		} ;
+	}
+
+	/**
+	 * Input to try a level with and the name it is reported as
+	 */
+	private static class Strategy
+	{
+		final String name ;
+		final InputSource input ;
+
+		Strategy(String name, InputSource input)
+		{
+			this.name = name ;
+			this.input = input ;
+		}
+	}
+
+	/**
+	 * Expands folders to the level images inside them
+	 */
+	private static List<String> findLevels(String[] paths)
+	{
+		List<String> levels = new ArrayList<String>() ;
+		for(String path : paths)
+		{
+			File file = new File(path) ;
+			if(file.isDirectory())
+			{
+				String[] names = file.list(new FilenameFilter()
+				{
+					@Override
+					public boolean accept(File dir, String name)
+					{
+						return name.endsWith(".png") ;
+					}
+				}) ;
+				Arrays.sort(names) ;
+				for(String name : names)
+				{
+					levels.add(path + "/" + name) ;
+				}
+			}
+			else
+			{
+				levels.add(path) ;
+			}
+		}
+		return levels ;
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 11/29/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import com.badlogic.gdx.Gdx ;
+import com.billyharrisongdx.game.game.InputRecording ;
+import com.billyharrisongdx.game.game.Level ;
+import com.billyharrisongdx.game.game.ReplayInput ;
+import com.billyharrisongdx.game.game.WorldController ;
+import com.billyharrisongdx.game.util.Constants ;
+
+/**
+ * Plays a recorded session without a window, as fast as possible,
+ * and prints where it ended and its slowest simulation steps.
+ * Playing it several times gives a profiler something to measure
+ *
+ * Usage: ReplayRunner <recording> [times]
+ */
+public class ReplayRunner
+{
+	public static void main(String[] args)
+	{
+		if(args.length < 1)
+		{
+			System.err.println("Usage: ReplayRunner <recording> [times]") ;
+			System.exit(1) ;
+		}
+		int times = args.length > 1 ? Integer.parseInt(args[1]) : 1 ;
+
+		HeadlessSupport.init() ;
+		InputRecording recording = InputRecording.read(Gdx.files.local(args[0])) ;
+		if(recording == null)
+		{
+			System.exit(1) ;
+		}
+		System.out.println(recording.levelFilename + ", seed " + recording.seed + ", "
+			+ recording.getStepCount() + " steps in " + recording.getRunCount() + " runs") ;
+
+		WorldController worldController = new WorldController(null, new Level(recording.levelFilename)) ;
+		for(int i = 0; i < times; i++)
+		{
+			play(worldController, recording) ;
+		}
+		worldController.dispose() ;
+		System.exit(0) ;
+	}
+
+	/**
+	 * Replays the recording from the start of its session. The
+	 * world controller is left where the replay ended
+	 */
+	static void play(WorldController worldController, InputRecording recording)
+	{
+		ReplayInput replay = new ReplayInput(recording) ;
+		worldController.setInputSource(replay) ;
+		worldController.startSession(recording.seed) ;
+
+		long startTime = System.nanoTime() ;
+		long slowestStep = 0 ;
+		int slowestStepIndex = 0 ;
+		int steps = 0 ;
+		// A replay that goes wrong can end the game early
+		while(!replay.isFinished() && !worldController.isGameOver() && !worldController.isGoalReached())
+		{
+			long stepStart = System.nanoTime() ;
+			worldController.update(Constants.FIXED_TIMESTEP) ;
+			long stepTime = System.nanoTime() - stepStart ;
+			if(stepTime > slowestStep)
+			{
+				slowestStep = stepTime ;
+				slowestStepIndex = steps ;
+			}
+			steps++ ;
+		}
+		float wallMillis = (System.nanoTime() - startTime) / 1000000.0f ;
+
+		System.out.println(String.format("  bunny (%.4f, %.4f)  score %d  lives %d  goal %b"
+			+ "  %.0fms wall  slowest step %d: %.2fms",
+			worldController.level.bunnyHead.position.x, worldController.level.bunnyHead.position.y,
+			worldController.score, worldController.lives, worldController.isGoalReached(),
+			wallMillis, slowestStepIndex, slowestStep / 1000000.0f)) ;
+	}
+}
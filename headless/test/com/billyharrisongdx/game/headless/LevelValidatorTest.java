@@ -0,0 +1,31 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 12/2/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import static org.junit.Assert.assertTrue ;
+
+import org.junit.BeforeClass ;
+import org.junit.Test ;
+
+import com.billyharrisongdx.game.util.Constants ;
+
+public class LevelValidatorTest
+{
+	@BeforeClass
+	public static void init()
+	{
+		HeadlessSupport.init() ;
+	}
+
+	@Test
+	public void shippedLevelCanBeFinished()
+	{
+		assertTrue(LevelValidator.validate(Constants.LEVEL_01)) ;
+	}
+}
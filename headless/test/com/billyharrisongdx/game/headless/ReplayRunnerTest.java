@@ -0,0 +1,98 @@
+/**
+ * Author: Billy Harrison
+ *
+ * Date: 12/2/16
+ *
+ * Class: Game Design
+ */
+
+package com.billyharrisongdx.game.headless;
+
+import static org.junit.Assert.assertEquals ;
+import static org.junit.Assert.assertNotNull ;
+import static org.junit.Assert.assertTrue ;
+
+import org.junit.BeforeClass ;
+import org.junit.Test ;
+
+import com.badlogic.gdx.Gdx ;
+import com.badlogic.gdx.Input.Keys ;
+import com.billyharrisongdx.game.game.InputRecording ;
+import com.billyharrisongdx.game.game.Level ;
+import com.billyharrisongdx.game.game.WorldController ;
+import com.billyharrisongdx.game.util.Constants ;
+
+public class ReplayRunnerTest
+{
+	// Level 01 finished by the ledge jumps strategy of the validator
+	private static final String LEDGE_JUMPS_RECORDING = "fixtures/level-01-ledge-jumps.rec" ;
+
+	@BeforeClass
+	public static void init()
+	{
+		HeadlessSupport.init() ;
+	}
+
+	@Test
+	public void recordingReachesGoalWithSameScore()
+	{
+		InputRecording recording = InputRecording.read(Gdx.files.local(LEDGE_JUMPS_RECORDING)) ;
+		assertNotNull(recording) ;
+		assertEquals(Constants.LEVEL_01, recording.levelFilename) ;
+
+		WorldController worldController = new WorldController(null, new Level(recording.levelFilename)) ;
+		try
+		{
+			// Twice, a replay must not depend on the one before it
+			for(int i = 0; i < 2; i++)
+			{
+				ReplayRunner.play(worldController, recording) ;
+				assertTrue(worldController.isGoalReached()) ;
+				assertEquals(1950, worldController.score) ;
+				assertEquals(Constants.LIVES_START, worldController.lives) ;
+				assertEquals(17, worldController.level.goldcoins.countCollected()) ;
+				assertEquals(105.0f, worldController.level.bunnyHead.position.x, 0.01f) ;
+			}
+		}
+		finally
+		{
+			worldController.dispose() ;
+		}
+	}
+
+	@Test
+	public void cameraToggleDoesNotSkipRecordedSteps()
+	{
+		WorldController worldController = new WorldController(null, new Level(Constants.LEVEL_01)) ;
+		try
+		{
+			worldController.setRecordSessions(true) ;
+			worldController.setInputSource(new LedgeJumpInput(worldController, 0.5f)) ;
+			worldController.startSession(1) ;
+			int steps = 0 ;
+			while(!worldController.isGoalReached() && worldController.lives == Constants.LIVES_START)
+			{
+				// Detach the camera for a while in the middle of the run
+				if(steps == 300 || steps == 900) worldController.keyUp(Keys.ENTER) ;
+				worldController.update(Constants.FIXED_TIMESTEP) ;
+				steps++ ;
+			}
+			InputRecording recording = worldController.getRecording() ;
+			assertEquals(steps, recording.getStepCount()) ;
+			float x = worldController.level.bunnyHead.position.x ;
+			float y = worldController.level.bunnyHead.position.y ;
+			int score = worldController.score ;
+			boolean goalReached = worldController.isGoalReached() ;
+
+			ReplayRunner.play(worldController, recording) ;
+			assertEquals(goalReached, worldController.isGoalReached()) ;
+			assertEquals(score, worldController.score) ;
+			assertEquals(x, worldController.level.bunnyHead.position.x, 0.0001f) ;
+			assertEquals(y, worldController.level.bunnyHead.position.y, 0.0001f) ;
+		}
+		finally
+		{
+			worldController.dispose() ;
+		}
+	}
+}